@@ -0,0 +1,212 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+public final class AttackTables {
+
+    private static final int[][] ROOK_DIRECTIONS = {{0,-1},{-1,0},{1,0},{0,1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1,-1},{1,-1},{-1,1},{1,1}};
+    private static final int[][] KNIGHT_OFFSETS = {{-1,-2},{1,-2},{-2,-1},{2,-1},{-2,1},{2,1},{-1,2},{1,2}};
+    private static final int[][] KING_OFFSETS = {{-1,-1},{0,-1},{1,-1},{-1,0},{1,0},{-1,1},{0,1},{1,1}};
+    private static final int[][] WHITE_PAWN_CAPTURE_OFFSETS = {{-1,-1},{1,-1}};
+    private static final int[][] BLACK_PAWN_CAPTURE_OFFSETS = {{-1,1},{1,1}};
+
+    private static final long[] KNIGHT_ATTACKS = initLeaperAttacks(KNIGHT_OFFSETS);
+    private static final long[] KING_ATTACKS = initLeaperAttacks(KING_OFFSETS);
+    private static final long[] WHITE_PAWN_ATTACKS = initLeaperAttacks(WHITE_PAWN_CAPTURE_OFFSETS);
+    private static final long[] BLACK_PAWN_ATTACKS = initLeaperAttacks(BLACK_PAWN_CAPTURE_OFFSETS);
+
+    //magic multipliers for the a8 = 0 tile indexing used by Board, found offline with a fixed-seed search
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+            0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+            0x0400800040008021L, 0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+            0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+            0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+            0x0001818014000800L, 0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+            0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+            0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+            0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+            0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L, 0x1240800040800100L,
+            0x0880042000524004L, 0x02C080410206002CL, 0x0801200241050010L, 0x8400080010008080L,
+            0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+            0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+            0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+            0x8044110480002441L, 0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+            0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x0020428400408200L, 0x2008010104210004L, 0x02D0009200480190L, 0x0018158B00010100L,
+            0x02C4042132048008L, 0x020082202000C221L, 0x4000421050080009L, 0x0210140202022020L,
+            0x00C0101410042248L, 0x0405204800D48080L, 0x3800C89200420002L, 0x180844124A020440L,
+            0x04403410A8002221L, 0x4040209004200400L, 0x084004020202A204L, 0x3010002104022000L,
+            0x00200240A9110900L, 0x2302800404080210L, 0x0204188800240010L, 0x8048000C01401200L,
+            0x120C001A11040900L, 0x0000401200500440L, 0x00004040840420A0L, 0x0020930822880804L,
+            0x4044401090900161L, 0x0034100015210804L, 0x8004100009010120L, 0x48C8080000820500L,
+            0x0080848004002000L, 0x0801004012005044L, 0x000080902C040400L, 0x0004009005004100L,
+            0x0B103010048A0200L, 0x8004100203181A00L, 0x0800140200100080L, 0x8401010800910040L,
+            0x0840010011290040L, 0x40100214202E1000L, 0x0842040040010840L, 0x0028010040010860L,
+            0x00080202A2051000L, 0x4200841008084204L, 0x0021120110000D02L, 0x48C1004208000084L,
+            0x0010088100414400L, 0x0021101000420580L, 0x0010040558401410L, 0x200C0C82A1050205L,
+            0x0011108820088000L, 0x0001011910120402L, 0x1580008608091248L, 0x8010018020880C02L,
+            0x20A1101032088480L, 0x0080100408082800L, 0x28100401140401C0L, 0x8002102200930012L,
+            0x4001040082080200L, 0x082200A498081808L, 0x000508610080D003L, 0x0052020044842402L,
+            0x4800A00140C84840L, 0x5000000848080820L, 0x0101086004240040L, 0x0028280808005014L
+    };
+
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        initLines(ROOK_DIRECTIONS);
+        initLines(BISHOP_DIRECTIONS);
+    }
+
+    private static final Magic[] ROOK_MAGICS = initMagics(ROOK_DIRECTIONS, ROOK_MAGIC_NUMBERS);
+    private static final Magic[] BISHOP_MAGICS = initMagics(BISHOP_DIRECTIONS, BISHOP_MAGIC_NUMBERS);
+
+    private AttackTables(){
+        throw new RuntimeException("Cant instantiate AttackTables");
+    }
+
+    public static long knightAttacks(final int square){
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square){
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int square){
+        return alliance.isWhite() ? WHITE_PAWN_ATTACKS[square] : BLACK_PAWN_ATTACKS[square];
+    }
+
+    //squares strictly between two aligned squares, empty when they share no rank, file or diagonal
+    public static long between(final int from, final int to){
+        return BETWEEN[from][to];
+    }
+
+    //the whole rank, file or diagonal through two aligned squares, empty when they are not aligned
+    public static long line(final int from, final int to){
+        return LINE[from][to];
+    }
+
+    public static long rookAttacks(final int square, final long occupancy){
+        return ROOK_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy){
+        return BISHOP_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long queenAttacks(final int square, final long occupancy){
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    private static final class Magic {
+        private final long mask;
+        private final long magic;
+        private final int shift;
+        private final long[] attacks;
+
+        private Magic(final long mask, final long magic, final int shift, final long[] attacks){
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = shift;
+            this.attacks = attacks;
+        }
+
+        private long attacks(final long occupancy){
+            return this.attacks[(int) (((occupancy & this.mask) * this.magic) >>> this.shift)];
+        }
+    }
+
+    private static long[] initLeaperAttacks(final int[][] offsets){
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for(int square=0;square<BoardUtils.NUM_TILES;square++){
+            for(final int[] offset : offsets){
+                final int file = square % 8 + offset[0];
+                final int rank = square / 8 + offset[1];
+                if(isOnBoard(file, rank)){
+                    attacks[square] |= 1L << (rank * 8 + file);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static void initLines(final int[][] directions){
+        for(int square=0;square<BoardUtils.NUM_TILES;square++){
+            for(final int[] direction : directions){
+                final long ray = slidingAttacks(square, 0L, new int[][]{direction});
+                final long backRay = slidingAttacks(square, 0L, new int[][]{{-direction[0], -direction[1]}});
+                long between = 0L;
+                int file = square % 8 + direction[0];
+                int rank = square / 8 + direction[1];
+                while(isOnBoard(file, rank)){
+                    final int target = rank * 8 + file;
+                    BETWEEN[square][target] = between;
+                    LINE[square][target] = ray | backRay | (1L << square);
+                    between |= 1L << target;
+                    file += direction[0];
+                    rank += direction[1];
+                }
+            }
+        }
+    }
+
+    private static Magic[] initMagics(final int[][] directions, final long[] magicNumbers){
+        final Magic[] magics = new Magic[BoardUtils.NUM_TILES];
+        for(int square=0;square<BoardUtils.NUM_TILES;square++){
+            final long mask = relevantOccupancyMask(square, directions);
+            final int shift = 64 - Long.bitCount(mask);
+            final long[] attacks = new long[1 << Long.bitCount(mask)];
+            //enumerate every subset of the mask with the carry rippler trick
+            long subset = 0;
+            do {
+                attacks[(int) ((subset * magicNumbers[square]) >>> shift)] = slidingAttacks(square, subset, directions);
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+            magics[square] = new Magic(mask, magicNumbers[square], shift, attacks);
+        }
+        return magics;
+    }
+
+    //the last square of every ray never changes the attack set, so it is left out of the mask
+    private static long relevantOccupancyMask(final int square, final int[][] directions){
+        long mask = 0L;
+        for(final int[] direction : directions){
+            int file = square % 8 + direction[0];
+            int rank = square / 8 + direction[1];
+            while(isOnBoard(file + direction[0], rank + direction[1])){
+                mask |= 1L << (rank * 8 + file);
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final int[][] directions){
+        long attacks = 0L;
+        for(final int[] direction : directions){
+            int file = square % 8 + direction[0];
+            int rank = square / 8 + direction[1];
+            while(isOnBoard(file, rank)){
+                final long bit = 1L << (rank * 8 + file);
+                attacks |= bit;
+                if((occupancy & bit) != 0){
+                    break;
+                }
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int file, final int rank){
+        return file >= 0 && file < 8 && rank >= 0 && rank < 8;
+    }
+}
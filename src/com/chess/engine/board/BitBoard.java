@@ -0,0 +1,462 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+
+public final class BitBoard {
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    public static final int NO_SQUARE = -1;
+
+    static final int EMPTY = -1;
+    static final int NUM_PIECE_TYPES = PieceType.values().length;
+
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private static final int MAX_HISTORY = 1024;
+    static final int[] CASTLING_MASK = initCastlingMask();
+
+    //bit i of every mask is tile i of Board, so a8 is bit 0 and h1 is bit 63
+    private final long[][] pieces;
+    private final long[] occupancy;
+    private long allPieces;
+    private final int[] mailbox;
+
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristKey;
+
+    //undo stack, one entry per made move
+    private final int[] moveHistory;
+    private final int[] capturedHistory;
+    private final int[] castlingHistory;
+    private final int[] enPassantHistory;
+    private final long[] zobristHistory;
+    private int historyPly;
+
+    private BitBoard(final Builder builder){
+        this.pieces = new long[ALLIANCES.length][NUM_PIECE_TYPES];
+        this.occupancy = new long[ALLIANCES.length];
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        for(int i=0;i<BoardUtils.NUM_TILES;i++){
+            this.mailbox[i] = EMPTY;
+        }
+        for(int i=0;i<BoardUtils.NUM_TILES;i++){
+            if(builder.boardConfig[i] != EMPTY){
+                putPiece(builder.boardConfig[i], i);
+            }
+        }
+        this.sideToMove = builder.nextMoveMaker;
+        this.castlingRights = builder.castlingRights;
+        this.enPassantSquare = builder.enPassantSquare;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare) ^
+                           Zobrist.sideToMoveKey(this.sideToMove);
+        this.moveHistory = new int[MAX_HISTORY];
+        this.capturedHistory = new int[MAX_HISTORY];
+        this.castlingHistory = new int[MAX_HISTORY];
+        this.enPassantHistory = new int[MAX_HISTORY];
+        this.zobristHistory = new long[MAX_HISTORY];
+    }
+
+    public BitBoard(final BitBoard other){
+        this.pieces = new long[ALLIANCES.length][];
+        for(int i=0;i<ALLIANCES.length;i++){
+            this.pieces[i] = other.pieces[i].clone();
+        }
+        this.occupancy = other.occupancy.clone();
+        this.allPieces = other.allPieces;
+        this.mailbox = other.mailbox.clone();
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.zobristKey = other.zobristKey;
+        this.moveHistory = other.moveHistory.clone();
+        this.capturedHistory = other.capturedHistory.clone();
+        this.castlingHistory = other.castlingHistory.clone();
+        this.enPassantHistory = other.enPassantHistory.clone();
+        this.zobristHistory = other.zobristHistory.clone();
+        this.historyPly = other.historyPly;
+    }
+
+    public static BitBoard fromBoard(final Board board){
+        return fromBoard(board, board.currentPlayer().getAlliance());
+    }
+
+    //the position as seen with the given side to move, the en passant square only belongs to the real mover
+    public static BitBoard fromBoard(final Board board, final Alliance sideToMove){
+        final Builder builder = new Builder();
+        for(final Piece piece : board.getAllPieces()){
+            builder.setPiece(piece.getAlliance(), piece.getPieceType(), piece.getPiecePosition());
+        }
+        builder.setMoveMaker(sideToMove);
+        builder.setCastlingRights(calculateCastlingRights(board));
+        final Pawn enPassantPawn = board.getEnPassentPawn();
+        if(enPassantPawn != null && enPassantPawn.getAlliance() != sideToMove){
+            builder.setEnPassantSquare(enPassantPawn.getPiecePosition() -
+                                       8 * enPassantPawn.getAlliance().getDirection());
+        }
+        return builder.build();
+    }
+
+    public Board toBoard(){
+        final Board.Builder builder = new Board.Builder();
+        Pawn enPassantPawn = null;
+        for(int square=0;square<BoardUtils.NUM_TILES;square++){
+            if(this.mailbox[square] == EMPTY){
+                continue;
+            }
+            final Alliance alliance = allianceAt(square);
+            final Piece piece = createPiece(alliance, pieceTypeAt(square), square);
+            if(this.enPassantSquare != NO_SQUARE && piece.getPieceType() == PieceType.PAWN &&
+                square == this.enPassantSquare + 8 * alliance.getDirection()){
+                enPassantPawn = (Pawn) piece;
+            }
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.sideToMove);
+        builder.setEnPassantPawn(enPassantPawn);
+        return builder.build();
+    }
+
+    //Board has no separate castling state: a side may castle while its king and the corner rook are
+    //still on their first move, so that is what the rights are derived from
+    static int calculateCastlingRights(final Board board){
+        int rights = 0;
+        if(isUnmoved(board, 60, Alliance.WHITE, PieceType.KING)){
+            if(isUnmoved(board, 63, Alliance.WHITE, PieceType.ROOK)){
+                rights |= WHITE_KING_SIDE_CASTLE;
+            }
+            if(isUnmoved(board, 56, Alliance.WHITE, PieceType.ROOK)){
+                rights |= WHITE_QUEEN_SIDE_CASTLE;
+            }
+        }
+        if(isUnmoved(board, 4, Alliance.BLACK, PieceType.KING)){
+            if(isUnmoved(board, 7, Alliance.BLACK, PieceType.ROOK)){
+                rights |= BLACK_KING_SIDE_CASTLE;
+            }
+            if(isUnmoved(board, 0, Alliance.BLACK, PieceType.ROOK)){
+                rights |= BLACK_QUEEN_SIDE_CASTLE;
+            }
+        }
+        return rights;
+    }
+
+    private static boolean isUnmoved(final Board board, final int square,
+                                     final Alliance alliance, final PieceType pieceType){
+        final Piece piece = board.getPieceAt(square);
+        return piece != null && piece.getAlliance() == alliance &&
+               piece.getPieceType() == pieceType && piece.isFirstMove();
+    }
+
+    private Piece createPiece(final Alliance alliance, final PieceType pieceType, final int square){
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(alliance, square, alliance.isWhite() ? BoardUtils.SECOND_RANK[square] :
+                                                                       BoardUtils.SEVENTH_RAMK[square]);
+            case KNIGHT:
+                return new Knight(square, alliance);
+            case BISHOP:
+                return new Bishop(square, alliance);
+            case ROOK:
+                return new Rook(alliance, square, isCastleRookSquare(alliance, square));
+            case QUEEN:
+                return new Queen(square, alliance);
+            case KING:
+                final boolean kingSide = (this.castlingRights & kingSideRight(alliance)) != 0;
+                final boolean queenSide = (this.castlingRights & queenSideRight(alliance)) != 0;
+                return new King(alliance, square, kingSide || queenSide, false, kingSide, queenSide);
+            default:
+                throw new RuntimeException("Unknown piece type " + pieceType);
+        }
+    }
+
+    private boolean isCastleRookSquare(final Alliance alliance, final int square){
+        final int homeRank = alliance.isWhite() ? 56 : 0;
+        return (square == homeRank + 7 && (this.castlingRights & kingSideRight(alliance)) != 0) ||
+               (square == homeRank && (this.castlingRights & queenSideRight(alliance)) != 0);
+    }
+
+    public static int kingSideRight(final Alliance alliance){
+        return alliance.isWhite() ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+    }
+
+    public static int queenSideRight(final Alliance alliance){
+        return alliance.isWhite() ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+    }
+
+    public void makeMove(final int move){
+        if(this.historyPly == MAX_HISTORY){
+            throw new RuntimeException("Move history overflow");
+        }
+        if(move == MoveEncoding.NULL_MOVE){
+            makeNullMove();
+            return;
+        }
+        final int from = MoveEncoding.from(move);
+        final int to = MoveEncoding.to(move);
+        final int flags = MoveEncoding.flags(move);
+        final int pieceCode = this.mailbox[from];
+        int captured = EMPTY;
+        this.zobristHistory[this.historyPly] = this.zobristKey;
+
+        if(flags == MoveEncoding.EN_PASSANT){
+            final int capturedSquare = to - 8 * this.sideToMove.getDirection();
+            captured = this.mailbox[capturedSquare];
+            removePiece(capturedSquare);
+        } else if(MoveEncoding.isCapture(move)){
+            captured = this.mailbox[to];
+            removePiece(to);
+        }
+        removePiece(from);
+        putPiece(MoveEncoding.isPromotion(move) ? pieceCode(this.sideToMove, MoveEncoding.promotionType(move)) : pieceCode, to);
+
+        if(flags == MoveEncoding.KING_CASTLE){
+            movePiece(from + 3, from + 1);
+        } else if(flags == MoveEncoding.QUEEN_CASTLE){
+            movePiece(from - 4, from - 1);
+        }
+
+        this.moveHistory[this.historyPly] = move;
+        this.capturedHistory[this.historyPly] = captured;
+        this.castlingHistory[this.historyPly] = this.castlingRights;
+        this.enPassantHistory[this.historyPly] = this.enPassantSquare;
+        this.historyPly++;
+
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        this.castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        this.enPassantSquare = flags == MoveEncoding.DOUBLE_PAWN_PUSH ? (from + to) / 2 : NO_SQUARE;
+        this.sideToMove = opponent(this.sideToMove);
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare) ^
+                           Zobrist.sideToMoveKey(Alliance.BLACK);
+    }
+
+    public void unmakeMove(){
+        this.historyPly--;
+        final int move = this.moveHistory[this.historyPly];
+        if(move == MoveEncoding.NULL_MOVE){
+            this.sideToMove = opponent(this.sideToMove);
+            this.enPassantSquare = this.enPassantHistory[this.historyPly];
+            this.zobristKey = this.zobristHistory[this.historyPly];
+            return;
+        }
+        final int from = MoveEncoding.from(move);
+        final int to = MoveEncoding.to(move);
+        final int flags = MoveEncoding.flags(move);
+        final int captured = this.capturedHistory[this.historyPly];
+
+        this.sideToMove = opponent(this.sideToMove);
+        this.castlingRights = this.castlingHistory[this.historyPly];
+        this.enPassantSquare = this.enPassantHistory[this.historyPly];
+
+        final int movedCode = MoveEncoding.isPromotion(move) ? pieceCode(this.sideToMove, PieceType.PAWN) : this.mailbox[to];
+        removePiece(to);
+        putPiece(movedCode, from);
+
+        if(flags == MoveEncoding.EN_PASSANT){
+            putPiece(captured, to - 8 * this.sideToMove.getDirection());
+        } else if(captured != EMPTY){
+            putPiece(captured, to);
+        }
+
+        if(flags == MoveEncoding.KING_CASTLE){
+            movePiece(from + 1, from + 3);
+        } else if(flags == MoveEncoding.QUEEN_CASTLE){
+            movePiece(from - 1, from - 4);
+        }
+        this.zobristKey = this.zobristHistory[this.historyPly];
+    }
+
+    //passes the turn, the en passant square lapses since the pawn that allowed it was not taken at once
+    private void makeNullMove(){
+        this.zobristHistory[this.historyPly] = this.zobristKey;
+        this.moveHistory[this.historyPly] = MoveEncoding.NULL_MOVE;
+        this.capturedHistory[this.historyPly] = EMPTY;
+        this.castlingHistory[this.historyPly] = this.castlingRights;
+        this.enPassantHistory[this.historyPly] = this.enPassantSquare;
+        this.historyPly++;
+
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.sideToMoveKey(Alliance.BLACK);
+        this.enPassantSquare = NO_SQUARE;
+        this.sideToMove = opponent(this.sideToMove);
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker){
+        return attackersTo(square, attacker, this.allPieces) != 0;
+    }
+
+    public long attackersTo(final int square, final Alliance attacker, final long occupancy){
+        final long[] attackerPieces = this.pieces[attacker.ordinal()];
+        final long queens = attackerPieces[PieceType.QUEEN.ordinal()];
+        //a pawn attacks this square exactly when a pawn of the other colour here would attack the pawn
+        return (AttackTables.pawnAttacks(opponent(attacker), square) & attackerPieces[PieceType.PAWN.ordinal()]) |
+               (AttackTables.knightAttacks(square) & attackerPieces[PieceType.KNIGHT.ordinal()]) |
+               (AttackTables.kingAttacks(square) & attackerPieces[PieceType.KING.ordinal()]) |
+               (AttackTables.bishopAttacks(square, occupancy) & (attackerPieces[PieceType.BISHOP.ordinal()] | queens)) |
+               (AttackTables.rookAttacks(square, occupancy) & (attackerPieces[PieceType.ROOK.ordinal()] | queens));
+    }
+
+    public boolean isInCheck(final Alliance alliance){
+        return isSquareAttacked(getKingSquare(alliance), opponent(alliance));
+    }
+
+    public static Alliance opponent(final Alliance alliance){
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    private void movePiece(final int from, final int to){
+        final int pieceCode = this.mailbox[from];
+        removePiece(from);
+        putPiece(pieceCode, to);
+    }
+
+    private void removePiece(final int square){
+        final int pieceCode = this.mailbox[square];
+        final long bit = 1L << square;
+        this.pieces[pieceCode / NUM_PIECE_TYPES][pieceCode % NUM_PIECE_TYPES] &= ~bit;
+        this.occupancy[pieceCode / NUM_PIECE_TYPES] &= ~bit;
+        this.allPieces &= ~bit;
+        this.mailbox[square] = EMPTY;
+        this.zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+    }
+
+    private void putPiece(final int pieceCode, final int square){
+        final long bit = 1L << square;
+        this.pieces[pieceCode / NUM_PIECE_TYPES][pieceCode % NUM_PIECE_TYPES] |= bit;
+        this.occupancy[pieceCode / NUM_PIECE_TYPES] |= bit;
+        this.allPieces |= bit;
+        this.mailbox[square] = pieceCode;
+        this.zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+    }
+
+    private static int[] initCastlingMask(){
+        final int[] castlingMask = new int[BoardUtils.NUM_TILES];
+        for(int i=0;i<BoardUtils.NUM_TILES;i++){
+            castlingMask[i] = ~0;
+        }
+        castlingMask[60] = ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        castlingMask[63] = ~WHITE_KING_SIDE_CASTLE;
+        castlingMask[56] = ~WHITE_QUEEN_SIDE_CASTLE;
+        castlingMask[4] = ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingMask[7] = ~BLACK_KING_SIDE_CASTLE;
+        castlingMask[0] = ~BLACK_QUEEN_SIDE_CASTLE;
+        return castlingMask;
+    }
+
+    static int pieceCode(final Alliance alliance, final PieceType pieceType){
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType){
+        return this.pieces[alliance.ordinal()][pieceType.ordinal()];
+    }
+
+    public long getOccupancy(final Alliance alliance){
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy(){
+        return this.allPieces;
+    }
+
+    public boolean isOccupied(final int square){
+        return this.mailbox[square] != EMPTY;
+    }
+
+    public PieceType pieceTypeAt(final int square){
+        final int pieceCode = this.mailbox[square];
+        return pieceCode == EMPTY ? null : PIECE_TYPES[pieceCode % NUM_PIECE_TYPES];
+    }
+
+    public Alliance allianceAt(final int square){
+        final int pieceCode = this.mailbox[square];
+        return pieceCode == EMPTY ? null : ALLIANCES[pieceCode / NUM_PIECE_TYPES];
+    }
+
+    public int getKingSquare(final Alliance alliance){
+        return Long.numberOfTrailingZeros(getPieces(alliance, PieceType.KING));
+    }
+
+    public long zobristKey(){
+        return this.zobristKey;
+    }
+
+    public Alliance getSideToMove(){
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare(){
+        return this.enPassantSquare;
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder();
+        for(int i=0;i<BoardUtils.NUM_TILES;i++){
+            final String tileText = isOccupied(i) ? (allianceAt(i).isBlack() ? pieceTypeAt(i).toString() :
+                                                     pieceTypeAt(i).toString().toUpperCase()) : "-";
+            builder.append(String.format("%3s", tileText));
+            if((i+1)%BoardUtils.NUM_TILES_PER_ROW == 0){
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    public static class Builder{
+
+        final int[] boardConfig;
+        Alliance nextMoveMaker;
+        int castlingRights;
+        int enPassantSquare;
+
+        public Builder(){
+            this.boardConfig = new int[BoardUtils.NUM_TILES];
+            for(int i=0;i<BoardUtils.NUM_TILES;i++){
+                this.boardConfig[i] = EMPTY;
+            }
+            this.nextMoveMaker = Alliance.WHITE;
+            this.enPassantSquare = NO_SQUARE;
+        }
+
+        public Builder setPiece(final Alliance alliance, final PieceType pieceType, final int square){
+            this.boardConfig[square] = pieceCode(alliance, pieceType);
+            return this;
+        }
+
+        public Builder setMoveMaker(final Alliance nextMoveMaker){
+            this.nextMoveMaker = nextMoveMaker;
+            return this;
+        }
+
+        public Builder setCastlingRights(final int castlingRights){
+            this.castlingRights = castlingRights;
+            return this;
+        }
+
+        public Builder setEnPassantSquare(final int enPassantSquare){
+            this.enPassantSquare = enPassantSquare;
+            return this;
+        }
+
+        public BitBoard build(){
+            return new BitBoard(this);
+        }
+    }
+}
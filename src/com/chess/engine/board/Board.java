@@ -12,6 +12,7 @@ import com.chess.engine.Alliance;
 import com.chess.engine.board.Move.MoveFactory;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -24,6 +25,12 @@ public class Board {
     private final List<Tile> gameBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+
+    //filled in on first request, most boards the search touches never need them
+    private volatile Collection<Move> whiteStandardLegalMoves;
+    private volatile Collection<Move> blackStandardLegalMoves;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
@@ -34,20 +41,22 @@ public class Board {
 
     private final Move transitionMove;
 
+    private final long zobristKey;
+
     private Board(final Builder builder){
         this.gameBoard=createGameBoard(builder);
         this.whitePieces=calculateActivePieces(this.gameBoard,Alliance.WHITE);
         this.blackPieces=calculateActivePieces(this.gameBoard,Alliance.BLACK);
+        this.whiteOccupancy=calculateOccupancy(this.whitePieces);
+        this.blackOccupancy=calculateOccupancy(this.blackPieces);
         this.enPassantPawn=builder.enPassantPawn;
 
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer= new WhitePlayer(this,whiteStandardLegalMoves,blackStandardLegalMoves);
-        this.blackPlayer= new BlackPlayer(this,whiteStandardLegalMoves,blackStandardLegalMoves);
+        this.whitePlayer= new WhitePlayer(this);
+        this.blackPlayer= new BlackPlayer(this);
         this.currentPlayer= builder.nextMoveMaker.choosePlayer(this.whitePlayer,this.blackPlayer);
 
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
     }
 
     @Override
@@ -88,6 +97,14 @@ public class Board {
                              this.blackPieces.stream()).collect(Collectors.toList());
     }
 
+    public long getOccupancy(final Alliance alliance){
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy(){
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
     public Pawn getEnPassentPawn(){
         return this.enPassantPawn;
     }
@@ -96,11 +113,54 @@ public class Board {
         return this.transitionMove;
     }
 
+    public long zobristKey(){
+        return this.zobristKey;
+    }
+
     public Piece getPieceAt(final int tileCoordinate) {
         final Tile tile = getTile(tileCoordinate);
         return tile.isTileOccupied() ? tile.getPiece() : null;
     }
 
+    //looks outward from the tile with the attack tables instead of generating the attacker's moves
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance attacker){
+        final long attackers = getOccupancy(attacker);
+        final long occupancy = getOccupancy();
+        //a pawn attacks this tile exactly when a pawn of the other colour here would attack the pawn
+        return containsPiece(AttackTables.pawnAttacks(BitBoard.opponent(attacker), tileCoordinate) & attackers, PieceType.PAWN, PieceType.PAWN) ||
+               containsPiece(AttackTables.knightAttacks(tileCoordinate) & attackers, PieceType.KNIGHT, PieceType.KNIGHT) ||
+               containsPiece(AttackTables.kingAttacks(tileCoordinate) & attackers, PieceType.KING, PieceType.KING) ||
+               containsPiece(AttackTables.bishopAttacks(tileCoordinate, occupancy) & attackers, PieceType.BISHOP, PieceType.QUEEN) ||
+               containsPiece(AttackTables.rookAttacks(tileCoordinate, occupancy) & attackers, PieceType.ROOK, PieceType.QUEEN);
+    }
+
+    private boolean containsPiece(long tiles, final PieceType pieceType, final PieceType otherPieceType){
+        while(tiles != 0){
+            final PieceType tilePieceType = getPieceAt(Long.numberOfTrailingZeros(tiles)).getPieceType();
+            if(tilePieceType == pieceType || tilePieceType == otherPieceType){
+                return true;
+            }
+            tiles &= tiles - 1;
+        }
+        return false;
+    }
+
+    public Collection<Move> getStandardLegalMoves(final Alliance alliance){
+        if(alliance.isWhite()){
+            Collection<Move> legalMoves = this.whiteStandardLegalMoves;
+            if(legalMoves == null){
+                legalMoves = calculateLegalMoves(this.whitePieces);
+                this.whiteStandardLegalMoves = legalMoves;
+            }
+            return legalMoves;
+        }
+        Collection<Move> legalMoves = this.blackStandardLegalMoves;
+        if(legalMoves == null){
+            legalMoves = calculateLegalMoves(this.blackPieces);
+            this.blackStandardLegalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
 
     private Collection<Move> calculateLegalMoves(Collection<Piece> pieces){
         final List<Move> legalMoves =new ArrayList<>();
@@ -129,6 +189,14 @@ public class Board {
         return ImmutableList.copyOf(activePieces);
     }
 
+    private static long calculateOccupancy(final Collection<Piece> pieces){
+        long occupancy = 0L;
+        for(final Piece piece: pieces){
+            occupancy |= 1L << piece.getPiecePosition();
+        }
+        return occupancy;
+    }
+
     private static List<Tile> createGameBoard(final Builder builder){
 
         final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
@@ -150,6 +218,7 @@ public class Board {
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        Long zobristKey;
 
         public Builder(){
             this.boardConfig=new HashMap<>();
@@ -170,6 +239,11 @@ public class Board {
             return this;
         }
 
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
+
         public Board build(){
             return new Board(this);
         }
@@ -1,5 +1,6 @@
 package com.chess.engine.board;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
@@ -98,9 +99,29 @@ public abstract class Move {
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         builder.setMoveTransition(this);
+        builder.setZobristKey(calculateZobristKey());
         return builder.build();
     }
 
+    //the key of the board this move leads to, derived from the current key instead of rescanning the tiles
+    protected long calculateZobristKey(){
+        final int currentCoordinate = this.movedPiece.getPiecePosition();
+        final int castlingRights = BitBoard.calculateCastlingRights(this.board);
+        long zobristKey = this.board.zobristKey() ^
+                          Zobrist.pieceKey(this.movedPiece, currentCoordinate) ^
+                          Zobrist.pieceKey(this.movedPiece, this.destinationCoordinate) ^
+                          Zobrist.castlingKey(castlingRights) ^
+                          Zobrist.castlingKey(castlingRights & BitBoard.CASTLING_MASK[currentCoordinate] &
+                                              BitBoard.CASTLING_MASK[this.destinationCoordinate]) ^
+                          Zobrist.enPassantKey(Zobrist.enPassantSquare(this.board)) ^
+                          Zobrist.sideToMoveKey(Alliance.BLACK);
+        final Piece capturedPiece = this.board.getPieceAt(this.destinationCoordinate);
+        if(capturedPiece != null){
+            zobristKey ^= Zobrist.pieceKey(capturedPiece, this.destinationCoordinate);
+        }
+        return zobristKey;
+    }
+
     
     public static final class MajourMove extends Move{
         public MajourMove(Board board,
@@ -205,6 +226,9 @@ public abstract class Move {
             builder.setPiece(this.promtionPiece.movePiece(this));
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(pawnMovedBoard.zobristKey() ^
+                                  Zobrist.pieceKey(this.promotedPawn, this.destinationCoordinate) ^
+                                  Zobrist.pieceKey(this.promtionPiece, this.destinationCoordinate));
             return builder.build();
         }
         @Override
@@ -298,6 +322,8 @@ public abstract class Move {
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey() ^
+                                  Zobrist.pieceKey(this.getAttackedPiece(), this.getAttackedPiece().getPiecePosition()));
             return builder.build();
         }
         @Override
@@ -325,6 +351,8 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey() ^
+                                  Zobrist.enPassantKey((this.getCurrentCoordinate() + this.destinationCoordinate) / 2));
             return builder.build();
 
         }
@@ -374,6 +402,9 @@ public abstract class Move {
             builder.setPiece(new Rook(this.castleRook.getAlliance(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey() ^
+                                  Zobrist.pieceKey(this.castleRook, this.castleRookStart) ^
+                                  Zobrist.pieceKey(this.castleRook, this.castleRookDestination));
             return builder.build();
         }
 
@@ -0,0 +1,105 @@
+package com.chess.engine.board;
+
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.Move.PawnEnPassantAttackMove;
+import com.chess.engine.board.Move.PawnJump;
+import com.chess.engine.board.Move.PawnPromotion;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//a move packed into the low 16 bits of an int: 6 bits from, 6 bits to, 4 bits of flags
+public final class MoveEncoding {
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_CAPTURE = 12;
+
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    private MoveEncoding(){
+        throw new RuntimeException("Cant instantiate MoveEncoding");
+    }
+
+    public static int create(final int from, final int to, final int flags){
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int createPromotion(final int from, final int to, final PieceType promotionType, final boolean isCapture){
+        return create(from, to, (isCapture ? PROMOTION_CAPTURE : PROMOTION) | (promotionType.ordinal() - PieceType.KNIGHT.ordinal()));
+    }
+
+    public static int from(final int move){
+        return move & 63;
+    }
+
+    public static int to(final int move){
+        return (move >>> 6) & 63;
+    }
+
+    public static int flags(final int move){
+        return (move >>> 12) & 15;
+    }
+
+    public static boolean isCapture(final int move){
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(final int move){
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(final int move){
+        final int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    public static PieceType promotionType(final int move){
+        return PROMOTION_TYPES[flags(move) & 3];
+    }
+
+    public static Move toMove(final Board board, final int move){
+        for(final Move candidate : board.currentPlayer().getLegalMoves()){
+            if(candidate.getCurrentCoordinate() == from(move) &&
+               candidate.getDestinationCoordinate() == to(move) &&
+               (!isPromotion(move) || ((PawnPromotion) candidate).promtionPiece.getPieceType() == promotionType(move))){
+                return candidate;
+            }
+        }
+        return MoveFactory.getNullMove();
+    }
+
+    public static int fromMove(final Move move){
+        if(move.getMovePiece() == null){
+            return NULL_MOVE;
+        }
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        //a promotion decorates a plain pawn move even when it captures, so the target tile decides
+        final boolean isCapture = move.getBoard().getPieceAt(to) != null;
+        if(move instanceof PawnPromotion){
+            return createPromotion(from, to, ((PawnPromotion) move).promtionPiece.getPieceType(), isCapture);
+        }
+        if(move.isCastlingMove()){
+            //the side comes from where the king lands, the castle move classes are not used consistently
+            return create(from, to, to > from ? KING_CASTLE : QUEEN_CASTLE);
+        }
+        if(move instanceof PawnEnPassantAttackMove){
+            return create(from, to, EN_PASSANT);
+        }
+        if(move instanceof PawnJump){
+            return create(from, to, DOUBLE_PAWN_PUSH);
+        }
+        return create(from, to, isCapture ? CAPTURE : QUIET);
+    }
+
+    public static String toString(final int move){
+        final String text = BoardUtils.getPositionAtCoordinate(from(move)) + BoardUtils.getPositionAtCoordinate(to(move));
+        return isPromotion(move) ? text + promotionType(move).toString() : text;
+    }
+}
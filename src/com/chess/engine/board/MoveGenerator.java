@@ -0,0 +1,202 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class MoveGenerator {
+
+    public static final int MAX_MOVES = 256;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private MoveGenerator(){
+        throw new RuntimeException("Cant instantiate MoveGenerator");
+    }
+
+    //emits only legal moves: pieces pinned to the king keep to the pin line, and in check every
+    //non-king move has to capture the checker or block it, so nothing is tried and taken back
+    public static int[] generateLegalMoves(final BitBoard position){
+        final MoveList moves = new MoveList();
+        generateLegalMoves(position, moves);
+        return moves.toArray();
+    }
+
+    public static void generateLegalMoves(final BitBoard position, final MoveList moves){
+        generate(position, moves, false);
+    }
+
+    //captures, en passant and promotions only, what a quiescence search looks at
+    public static void generateLegalCaptures(final BitBoard position, final MoveList moves){
+        generate(position, moves, true);
+    }
+
+    private static void generate(final BitBoard position, final MoveList moves, final boolean capturesOnly){
+        moves.clear();
+        final Alliance us = position.getSideToMove();
+        final Alliance them = BitBoard.opponent(us);
+        final long own = position.getOccupancy(us);
+        final long enemy = position.getOccupancy(them);
+        final long occupancy = position.getOccupancy();
+        final int kingSquare = position.getKingSquare(us);
+        final long checkers = position.attackersTo(kingSquare, them, occupancy);
+        final long targetMask = capturesOnly ? enemy : ~own;
+
+        //in double check only the king can move
+        if(Long.bitCount(checkers) < 2){
+            final long checkMask = checkers == 0 ? -1L : checkers | AttackTables.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+            final long pinned = pinnedPieces(position, us, them, kingSquare, own, enemy, occupancy);
+            generatePawnMoves(position, us, them, kingSquare, checkers, checkMask, pinned, enemy, occupancy, capturesOnly, moves);
+            for(int pieceType = PieceType.KNIGHT.ordinal(); pieceType < PieceType.KING.ordinal(); pieceType++){
+                long pieces = position.getPieces(us, PIECE_TYPES[pieceType]);
+                while(pieces != 0){
+                    final int from = Long.numberOfTrailingZeros(pieces);
+                    pieces &= pieces - 1;
+                    long targets = pieceAttacks(PIECE_TYPES[pieceType], from, occupancy) & targetMask & checkMask;
+                    if((pinned & (1L << from)) != 0){
+                        targets &= AttackTables.line(kingSquare, from);
+                    }
+                    addMoves(from, targets, enemy, moves);
+                }
+            }
+        }
+
+        //the king may not step along a checking ray, so it is taken off the board before testing its targets
+        final long kingless = occupancy ^ (1L << kingSquare);
+        long kingTargets = AttackTables.kingAttacks(kingSquare) & targetMask;
+        while(kingTargets != 0){
+            final int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if(position.attackersTo(to, them, kingless) == 0){
+                moves.add(MoveEncoding.create(kingSquare, to, (enemy & (1L << to)) != 0 ? MoveEncoding.CAPTURE : MoveEncoding.QUIET));
+            }
+        }
+        if(checkers == 0 && !capturesOnly){
+            generateCastleMoves(position, us, kingSquare, occupancy, moves);
+        }
+    }
+
+    private static long pinnedPieces(final BitBoard position, final Alliance us, final Alliance them, final int kingSquare,
+                                     final long own, final long enemy, final long occupancy){
+        final long queens = position.getPieces(them, PieceType.QUEEN);
+        //enemy sliders that would see the king if our own pieces were not in the way
+        long snipers = (AttackTables.rookAttacks(kingSquare, enemy) & (position.getPieces(them, PieceType.ROOK) | queens)) |
+                       (AttackTables.bishopAttacks(kingSquare, enemy) & (position.getPieces(them, PieceType.BISHOP) | queens));
+        long pinned = 0L;
+        while(snipers != 0){
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            final long blockers = AttackTables.between(kingSquare, sniper) & occupancy;
+            if(Long.bitCount(blockers) == 1 && (blockers & own) != 0){
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    private static long pieceAttacks(final PieceType pieceType, final int square, final long occupancy){
+        switch(pieceType){
+            case KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case BISHOP:
+                return AttackTables.bishopAttacks(square, occupancy);
+            case ROOK:
+                return AttackTables.rookAttacks(square, occupancy);
+            default:
+                return AttackTables.queenAttacks(square, occupancy);
+        }
+    }
+
+    private static void generatePawnMoves(final BitBoard position, final Alliance us, final Alliance them,
+                                          final int kingSquare, final long checkers, final long checkMask,
+                                          final long pinned, final long enemy, final long occupancy,
+                                          final boolean capturesOnly, final MoveList moves){
+        final int forward = 8 * us.getDirection();
+        final boolean[] startRank = us.isWhite() ? BoardUtils.SECOND_RANK : BoardUtils.SEVENTH_RAMK;
+        final int enPassantSquare = position.getEnPassantSquare();
+        long pawns = position.getPieces(us, PieceType.PAWN);
+        while(pawns != 0){
+            final int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final long allowed = (pinned & (1L << from)) != 0 ? checkMask & AttackTables.line(kingSquare, from) : checkMask;
+            final int oneStep = from + forward;
+            if((occupancy & (1L << oneStep)) == 0 && (!capturesOnly || us.isPawnPromotionSquare(oneStep))){
+                if((allowed & (1L << oneStep)) != 0){
+                    addPawnMoves(us, from, oneStep, false, moves);
+                }
+                final int twoStep = oneStep + forward;
+                if(!capturesOnly && startRank[from] && (occupancy & (1L << twoStep)) == 0 && (allowed & (1L << twoStep)) != 0){
+                    moves.add(MoveEncoding.create(from, twoStep, MoveEncoding.DOUBLE_PAWN_PUSH));
+                }
+            }
+            final long attacks = AttackTables.pawnAttacks(us, from);
+            long captures = attacks & enemy & allowed;
+            while(captures != 0){
+                final int to = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
+                addPawnMoves(us, from, to, true, moves);
+            }
+            if(enPassantSquare != BitBoard.NO_SQUARE && (attacks & (1L << enPassantSquare)) != 0 &&
+               isLegalEnPassant(position, us, them, kingSquare, checkers, checkMask, from, enPassantSquare, occupancy)){
+                moves.add(MoveEncoding.create(from, enPassantSquare, MoveEncoding.EN_PASSANT));
+            }
+        }
+    }
+
+    //en passant takes two pawns off one rank at once, so pins are checked against the resulting occupancy
+    private static boolean isLegalEnPassant(final BitBoard position, final Alliance us, final Alliance them,
+                                            final int kingSquare, final long checkers, final long checkMask,
+                                            final int from, final int to, final long occupancy){
+        final int capturedSquare = to - 8 * us.getDirection();
+        if((checkMask & (1L << to)) == 0 && (checkers & (1L << capturedSquare)) == 0){
+            return false;
+        }
+        final long after = (occupancy ^ (1L << from) ^ (1L << capturedSquare)) | (1L << to);
+        final long queens = position.getPieces(them, PieceType.QUEEN);
+        return (AttackTables.rookAttacks(kingSquare, after) & (position.getPieces(them, PieceType.ROOK) | queens)) == 0 &&
+               (AttackTables.bishopAttacks(kingSquare, after) & (position.getPieces(them, PieceType.BISHOP) | queens)) == 0;
+    }
+
+    private static void addPawnMoves(final Alliance us, final int from, final int to, final boolean isCapture,
+                                     final MoveList moves){
+        if(us.isPawnPromotionSquare(to)){
+            moves.add(MoveEncoding.createPromotion(from, to, PieceType.QUEEN, isCapture));
+            moves.add(MoveEncoding.createPromotion(from, to, PieceType.ROOK, isCapture));
+            moves.add(MoveEncoding.createPromotion(from, to, PieceType.BISHOP, isCapture));
+            moves.add(MoveEncoding.createPromotion(from, to, PieceType.KNIGHT, isCapture));
+        } else {
+            moves.add(MoveEncoding.create(from, to, isCapture ? MoveEncoding.CAPTURE : MoveEncoding.QUIET));
+        }
+    }
+
+    private static void addMoves(final int from, long targets, final long enemy, final MoveList moves){
+        while(targets != 0){
+            final int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(MoveEncoding.create(from, to, (enemy & (1L << to)) != 0 ? MoveEncoding.CAPTURE : MoveEncoding.QUIET));
+        }
+    }
+
+    private static void generateCastleMoves(final BitBoard position, final Alliance us, final int kingSquare,
+                                            final long occupancy, final MoveList moves){
+        final int homeSquare = us.isWhite() ? 60 : 4;
+        final int rights = position.getCastlingRights();
+        if(kingSquare != homeSquare || (rights & (BitBoard.kingSideRight(us) | BitBoard.queenSideRight(us))) == 0){
+            return;
+        }
+        final Alliance them = BitBoard.opponent(us);
+        if(position.isSquareAttacked(homeSquare, them)){
+            return;
+        }
+        final long rooks = position.getPieces(us, PieceType.ROOK);
+        if((rights & BitBoard.kingSideRight(us)) != 0 && (rooks & (1L << (homeSquare + 3))) != 0 &&
+           (occupancy & ((1L << (homeSquare + 1)) | (1L << (homeSquare + 2)))) == 0 &&
+           !position.isSquareAttacked(homeSquare + 1, them) && !position.isSquareAttacked(homeSquare + 2, them)){
+            moves.add(MoveEncoding.create(homeSquare, homeSquare + 2, MoveEncoding.KING_CASTLE));
+        }
+        if((rights & BitBoard.queenSideRight(us)) != 0 && (rooks & (1L << (homeSquare - 4))) != 0 &&
+           (occupancy & ((1L << (homeSquare - 1)) | (1L << (homeSquare - 2)) | (1L << (homeSquare - 3)))) == 0 &&
+           !position.isSquareAttacked(homeSquare - 1, them) && !position.isSquareAttacked(homeSquare - 2, them)){
+            moves.add(MoveEncoding.create(homeSquare, homeSquare - 2, MoveEncoding.QUEEN_CASTLE));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+//a reusable list of MoveEncoding ints, the search keeps one per ply and clears it instead of allocating
+public final class MoveList {
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList(){
+        this.moves = new int[MoveGenerator.MAX_MOVES];
+        this.size = 0;
+    }
+
+    public MoveList(final MoveList other){
+        this.moves = other.moves.clone();
+        this.size = other.size;
+    }
+
+    public void add(final int move){
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index){
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move){
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first, final int second){
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public boolean isEmpty(){
+        return this.size == 0;
+    }
+
+    public void clear(){
+        this.size = 0;
+    }
+
+    public boolean contains(final int move){
+        for(int i=0;i<this.size;i++){
+            if(this.moves[i] == move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int[] toArray(){
+        return Arrays.copyOf(this.moves, this.size);
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder("[");
+        for(int i=0;i<this.size;i++){
+            builder.append(i == 0 ? "" : ", ").append(MoveEncoding.toString(this.moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+}
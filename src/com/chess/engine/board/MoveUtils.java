@@ -2,7 +2,9 @@ package com.chess.engine.board;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.pieces.Piece.PieceType;
 
 
 public enum MoveUtils {
@@ -11,14 +13,61 @@ public enum MoveUtils {
 
     public static final Move NULL_MOVE = new Move.NullMove();
 
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    //material the mover comes out with once the capture sequence on the destination has played out
     public static int exchangeScore(final Move move) {
         if(move == MoveFactory.getNullMove()) {
-            return 1;
+            return 0;
         }
-        return move.isAttack() ?
-                5 * exchangeScore(move.getBoard().getTransitionMove()) :
-                exchangeScore(move.getBoard().getTransitionMove());
+        return staticExchange(BitBoard.fromBoard(move.getBoard()), MoveEncoding.fromMove(move));
+    }
 
+    //static exchange evaluation, worked out on occupancy masks without executing anything
+    public static int staticExchange(final BitBoard position, final int move) {
+        if(MoveEncoding.isCastle(move)) {
+            return 0;
+        }
+        final int from = MoveEncoding.from(move);
+        final int to = MoveEncoding.to(move);
+        long occupancy = position.getOccupancy() ^ (1L << from);
+        int captured;
+        if(MoveEncoding.flags(move) == MoveEncoding.EN_PASSANT) {
+            occupancy ^= 1L << (to - 8 * position.getSideToMove().getDirection());
+            captured = PieceType.PAWN.getPieceValue();
+        } else {
+            captured = position.isOccupied(to) ? position.pieceTypeAt(to).getPieceValue() : 0;
+        }
+        int pieceOnSquare = position.pieceTypeAt(from).getPieceValue();
+        if(MoveEncoding.isPromotion(move)) {
+            pieceOnSquare = MoveEncoding.promotionType(move).getPieceValue();
+            captured += pieceOnSquare - PieceType.PAWN.getPieceValue();
+        }
+        return captured - recapture(position, to, occupancy, BitBoard.opponent(position.getSideToMove()), pieceOnSquare);
+    }
+
+    //what the side can win by taking back with its least valuable attacker, never below zero since it may stop;
+    //attackers are found again on the thinned occupancy so sliders lined up behind a capturer join in
+    private static int recapture(final BitBoard position, final int square, final long occupancy,
+                                 final Alliance side, final int pieceOnSquare) {
+        final long attackers = (position.attackersTo(square, Alliance.WHITE, occupancy) |
+                                position.attackersTo(square, Alliance.BLACK, occupancy)) & occupancy;
+        final long sideAttackers = attackers & position.getOccupancy(side);
+        if(sideAttackers == 0) {
+            return 0;
+        }
+        for(final PieceType pieceType : PIECE_TYPES) {
+            final long pieces = sideAttackers & position.getPieces(side, pieceType);
+            if(pieces != 0) {
+                //the king may only take last, when nothing can take it back
+                if(pieceType == PieceType.KING && (attackers & position.getOccupancy(BitBoard.opponent(side))) != 0) {
+                    return 0;
+                }
+                return Math.max(0, pieceOnSquare - recapture(position, square, occupancy ^ Long.lowestOneBit(pieces),
+                                                             BitBoard.opponent(side), pieceType.getPieceValue()));
+            }
+        }
+        return 0;
     }
 
     public static class Line {
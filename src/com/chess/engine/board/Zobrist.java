@@ -0,0 +1,85 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+final class Zobrist {
+
+    //fixed seed so keys are stable between runs
+    private static final long ZOBRIST_SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[][] PIECE_KEYS = new long[Alliance.values().length * BitBoard.NUM_PIECE_TYPES][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final long[] seed = {ZOBRIST_SEED};
+        for(final long[] pieceKeys : PIECE_KEYS){
+            for(int i=0;i<pieceKeys.length;i++){
+                pieceKeys[i] = nextRandom(seed);
+            }
+        }
+        for(int i=0;i<CASTLING_KEYS.length;i++){
+            CASTLING_KEYS[i] = nextRandom(seed);
+        }
+        for(int i=0;i<EN_PASSANT_KEYS.length;i++){
+            EN_PASSANT_KEYS[i] = nextRandom(seed);
+        }
+        BLACK_TO_MOVE_KEY = nextRandom(seed);
+    }
+
+    private Zobrist(){
+        throw new RuntimeException("Cant instantiate Zobrist");
+    }
+
+    static long pieceKey(final int pieceCode, final int square){
+        return PIECE_KEYS[pieceCode][square];
+    }
+
+    static long pieceKey(final Alliance alliance, final PieceType pieceType, final int square){
+        return PIECE_KEYS[BitBoard.pieceCode(alliance, pieceType)][square];
+    }
+
+    static long pieceKey(final Piece piece, final int square){
+        return pieceKey(piece.getAlliance(), piece.getPieceType(), square);
+    }
+
+    static long castlingKey(final int castlingRights){
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    static long enPassantKey(final int enPassantSquare){
+        return enPassantSquare == BitBoard.NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    static long sideToMoveKey(final Alliance alliance){
+        return alliance.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+    static long calculateKey(final Board board){
+        long key = 0L;
+        for(final Piece piece : board.getAllPieces()){
+            key ^= pieceKey(piece, piece.getPiecePosition());
+        }
+        return key ^ castlingKey(BitBoard.calculateCastlingRights(board)) ^
+               enPassantKey(enPassantSquare(board)) ^
+               sideToMoveKey(board.currentPlayer().getAlliance());
+    }
+
+    static int enPassantSquare(final Board board){
+        final Pawn enPassantPawn = board.getEnPassentPawn();
+        return enPassantPawn == null ? BitBoard.NO_SQUARE :
+               enPassantPawn.getPiecePosition() - 8 * enPassantPawn.getAlliance().getDirection();
+    }
+
+    private static long nextRandom(final long[] seed){
+        //splitmix64
+        long z = (seed[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,21 +1,15 @@
 package com.chess.engine.pieces;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
-import com.google.common.collect.ImmutableList;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 
 
 public class Bishop extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = {-9,-7,7,9};
-
     public Bishop(int piecePosition,Alliance pieceAlliance){
         super(PieceType.BISHOP,piecePosition, pieceAlliance,true);
     }
@@ -26,42 +20,8 @@ public class Bishop extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board){
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for(final int candidateCoordinateOffset:CANDIDATE_MOVE_VECTOR_COORDINATES){
-            int candidateDestinationCoordinate=this.piecePosition;
-
-            while(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                if(isFirstColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset) ||
-                    isEightColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset)    
-                ){
-                    break;
-                }
-                candidateDestinationCoordinate+=candidateCoordinateOffset;
-
-                if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                    if(!candidateDestinationTile.isTileOccupied()){
-                        legalMoves.add(new Move.MajourMove(board,this,candidateDestinationCoordinate));
-                    }
-                    else{
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getAlliance();
-
-                        if(this.pieceAlliance != pieceAlliance){
-                            legalMoves.add(new Move.MajourAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board){
+        return calculateMovesFromAttacks(board, AttackTables.bishopAttacks(this.piecePosition, board.getOccupancy()));
     }
 
     @Override
@@ -78,14 +38,5 @@ public class Bishop extends Piece {
     public Bishop movePiece(final Move move) {
         return PieceUtils.INSTANCE.getMovedBishop(move.getMovePiece().getAlliance(), move.getDestinationCoordinate());
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset ==7);
-    }
-
-    private static boolean isEightColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.EIGHT_COLUMN[currentPosition] && (candidateOffset == 9 || candidateOffset == -7);
-    }
-
 }
 
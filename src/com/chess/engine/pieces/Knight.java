@@ -1,22 +1,16 @@
 package com.chess.engine.pieces;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
-import com.google.common.collect.ImmutableList;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 
 
 
 public class Knight extends Piece{
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-17,-15,-10,-6,6,10,15,17};
-
     public Knight(final int piecePosition,final Alliance pieceAlliance){
         super(PieceType.KNIGHT,piecePosition,pieceAlliance,true);
     }
@@ -28,36 +22,7 @@ public class Knight extends Piece{
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-
-        List<Move> legalMoves = new ArrayList<>();
-
-        for(final int currentCandidateOffest:CANDIDATE_MOVE_COORDINATES){
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffest;
-            if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                if(isFirstColumnExclusion(this.piecePosition,currentCandidateOffest) || 
-                    isSecondColumnExclusion(this.piecePosition, currentCandidateOffest) ||
-                    isSeventhColumnExclusion(this.piecePosition, currentCandidateOffest)||
-                    isEightColumnExclusion(this.piecePosition, currentCandidateOffest)){
-                    continue;
-                }
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                if(!candidateDestinationTile.isTileOccupied()){
-                    legalMoves.add(new Move.MajourMove(board,this,candidateDestinationCoordinate));
-                }
-                else{
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getAlliance();
-
-                    if(this.pieceAlliance != pieceAlliance){
-                        legalMoves.add(new Move.MajourAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                    }
-                }
-            }
-
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board, AttackTables.knightAttacks(this.piecePosition));
     }
 
     @Override
@@ -73,19 +38,5 @@ public class Knight extends Piece{
     public Knight movePiece(final Move move) {
         return PieceUtils.INSTANCE.getMovedKnight(move.getMovePiece().getAlliance(), move.getDestinationCoordinate());
     }
-    public static boolean isFirstColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.FIRST_COLUMN[currentPosition] && ((candidateOffset == -17) || (candidateOffset == -10) || 
-        (candidateOffset == 6) || candidateOffset == 15);
-    }
-    public static boolean isSecondColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.SECOND_COLUMN[currentPosition] && ((candidateOffset == -10) || (candidateOffset == 6));
-    }
-    public static boolean isSeventhColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.SEVENTH_COLUMN[currentPosition] && ((candidateOffset == -6) || (candidateOffset == 10));
-    }
-    public static boolean isEightColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.EIGHT_COLUMN[currentPosition] && ((candidateOffset == 17) || (candidateOffset == 10) || 
-        (candidateOffset == -6) || candidateOffset == -15);
-    }
 }
 
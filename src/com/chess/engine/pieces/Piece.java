@@ -1,10 +1,13 @@
 package com.chess.engine.pieces;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
 
 public abstract class Piece {
 
@@ -51,6 +54,23 @@ public abstract class Piece {
     public abstract Collection<Move> calculateLegalMoves(final Board board);
     public abstract Piece movePiece(Move move);
 
+    protected Collection<Move> calculateMovesFromAttacks(final Board board, final long attacks){
+        final List<Move> legalMoves = new ArrayList<>();
+        long targets = attacks & ~board.getOccupancy(this.pieceAlliance);
+        while(targets != 0){
+            final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            final Piece pieceAtDestination = board.getPieceAt(candidateDestinationCoordinate);
+            if(pieceAtDestination == null){
+                legalMoves.add(new Move.MajourMove(board,this,candidateDestinationCoordinate));
+            }
+            else{
+                legalMoves.add(new Move.MajourAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     public Alliance getAlliance(){
         return this.pieceAlliance;
     }
@@ -1,20 +1,14 @@
 package com.chess.engine.pieces;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
 
 public class Rook extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = {-8,-1,1,8};
-
     public Rook(int piecePosition,Alliance pieceAlliance){
         super(PieceType.ROOK,piecePosition, pieceAlliance,true);
     }
@@ -25,42 +19,8 @@ public class Rook extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board){
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for(final int candidateCoordinateOffset:CANDIDATE_MOVE_VECTOR_COORDINATES){
-            int candidateDestinationCoordinate=this.piecePosition;
-
-            while(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                if(isFirstColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset) ||
-                    isEightColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset)    
-                ){
-                    break;
-                }
-                candidateDestinationCoordinate+=candidateCoordinateOffset;
-
-                if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                    if(!candidateDestinationTile.isTileOccupied()){
-                        legalMoves.add(new Move.MajourMove(board,this,candidateDestinationCoordinate));
-                    }
-                    else{
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getAlliance();
-
-                        if(this.pieceAlliance != pieceAlliance){
-                            legalMoves.add(new Move.MajourAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board){
+        return calculateMovesFromAttacks(board, AttackTables.rookAttacks(this.piecePosition, board.getOccupancy()));
     }
     @Override
     public String toString(){
@@ -74,11 +34,4 @@ public class Rook extends Piece {
     public Rook movePiece(final Move move) {
         return PieceUtils.INSTANCE.getMovedRook(move.getMovePiece().getAlliance(), move.getDestinationCoordinate());
     }
-    private static boolean isFirstColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -1);
-    }
-
-    private static boolean isEightColumnExclusion(final int currentPosition,final int candidateOffset){
-        return BoardUtils.EIGHT_COLUMN[currentPosition] && (candidateOffset == 1);
-    }
 }
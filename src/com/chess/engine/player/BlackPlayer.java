@@ -15,9 +15,8 @@ import com.chess.engine.board.Move.KingSideCastleMove;
 
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-            final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -34,7 +33,7 @@ public class BlackPlayer extends Player {
         return this.board.whitePlayer();
     }
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegal) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
@@ -44,8 +43,8 @@ public class BlackPlayer extends Player {
                 final Tile rookTile = this.board.getTile(7);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if(Player.calculateAttackOnTile(5, opponentsLegal).isEmpty() &&
-                        Player.calculateAttackOnTile(6, opponentsLegal).isEmpty() &&
+                    if(!this.board.isSquareAttacked(5, Alliance.WHITE) &&
+                        !this.board.isSquareAttacked(6, Alliance.WHITE) &&
                         rookTile.getPiece().getPieceType().isRook()){
                         //ADDS A CASTLEMOVE
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6, 
@@ -58,8 +57,8 @@ public class BlackPlayer extends Player {
                 !this.board.getTile(3).isTileOccupied()){
                     final Tile rookTile = this.board.getTile(0);
                     if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttackOnTile(2, opponentsLegal).isEmpty() &&
-                    Player.calculateAttackOnTile(3, opponentsLegal).isEmpty() &&
+                    !this.board.isSquareAttacked(2, Alliance.WHITE) &&
+                    !this.board.isSquareAttacked(3, Alliance.WHITE) &&
                     rookTile.getPiece().getPieceType().isRook()){                        
                         //ADDS A CASTLE MOVE
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 2, 
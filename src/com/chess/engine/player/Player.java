@@ -1,12 +1,14 @@
 package com.chess.engine.player;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
@@ -15,14 +17,16 @@ import com.google.common.collect.Iterables;
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
-
-    Player(final Board board,final Collection<Move> legalMoves,final Collection<Move> opponentMoves){
+    //computed on first access and memoized, evaluated or discarded boards never pay for them
+    private volatile Collection<Move> legalMoves;
+    //fully legal moves in MoveEncoding form, sorted for binary search
+    private volatile int[] encodedLegalMoves;
+    private volatile Boolean isInCheck;
+    private volatile Boolean hasEscapeMoves;
+
+    Player(final Board board){
         this.board=board;
         this.playerKing=establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves,calculateKingCastles(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttackOnTile(this.playerKing.getPiecePosition(),opponentMoves).isEmpty();
     }
 
     public King getPlayerKing(){
@@ -30,19 +34,15 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves(){
-        return this.legalMoves;
-    }
-                
-    protected static Collection<Move> calculateAttackOnTile(int piecePosition, Collection<Move> moves){
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move:moves){
-            if(piecePosition == move.getDestinationCoordinate()){
-                attackMoves.add(move);
-            }
+        Collection<Move> legalMoves = this.legalMoves;
+        if(legalMoves == null){
+            final Collection<Move> standardLegalMoves = this.board.getStandardLegalMoves(getAlliance());
+            legalMoves = ImmutableList.copyOf(Iterables.concat(standardLegalMoves, calculateKingCastles(standardLegalMoves)));
+            this.legalMoves = legalMoves;
         }
-        return ImmutableList.copyOf(attackMoves);
+        return legalMoves;
     }
-    
+
     private King establishKing() {
         for(final Piece piece:getActivePieces()){
             if(piece.getPieceType().isKing()){
@@ -54,29 +54,43 @@ public abstract class Player {
     }
 
     public boolean isMoveLegal(final Move move){
-        return this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
     
+    private int[] getEncodedLegalMoves(){
+        int[] encodedLegalMoves = this.encodedLegalMoves;
+        if(encodedLegalMoves == null){
+            encodedLegalMoves = MoveGenerator.generateLegalMoves(BitBoard.fromBoard(this.board, getAlliance()));
+            Arrays.sort(encodedLegalMoves);
+            this.encodedLegalMoves = encodedLegalMoves;
+        }
+        return encodedLegalMoves;
+    }
+
     protected boolean hasEscapeMoves(){
-        for(final Move move:this.legalMoves){
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()){
-                return true;
-            }
+        Boolean hasEscapeMoves = this.hasEscapeMoves;
+        if(hasEscapeMoves == null){
+            hasEscapeMoves = getEncodedLegalMoves().length > 0;
+            this.hasEscapeMoves = hasEscapeMoves;
         }
-        return false;
+        return hasEscapeMoves;
     }
     ////////////////////////////////////////// TODO ADD 50 MOVE
     public boolean isInCheck(){
-        return this.isInCheck;
+        Boolean isInCheck = this.isInCheck;
+        if(isInCheck == null){
+            isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponent().getAlliance());
+            this.isInCheck = isInCheck;
+        }
+        return isInCheck;
     }
 
     public boolean isInCheckMate(){
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate(){
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCasteled(){
@@ -94,20 +108,17 @@ public abstract class Player {
         if (!isMoveLegal(move)){
             return new MoveTransition(this.board, move,MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttackOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(), 
-        transitionBoard.currentPlayer().getLegalMoves());
-
-        if(!kingAttacks.isEmpty()){
+        //pseudo legal but missing from the pin and check aware set means the king would be left attacked
+        if(Arrays.binarySearch(getEncodedLegalMoves(), MoveEncoding.fromMove(move)) < 0){
             return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
 
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
 
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance ();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals,Collection<Move> opponentsLegal);
+    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
 }
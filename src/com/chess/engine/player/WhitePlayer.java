@@ -17,10 +17,8 @@ import com.chess.engine.board.Move.QueenSideCastleMove;
 
 public class WhitePlayer extends Player {
 
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-            final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
-
+    public WhitePlayer(final Board board) {
+        super(board);
     }
     @Override
     public Collection<Piece> getActivePieces() {
@@ -35,7 +33,7 @@ public class WhitePlayer extends Player {
         return this.board.blackPlayer();
     }
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegal) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
@@ -45,8 +43,8 @@ public class WhitePlayer extends Player {
                 final Tile rookTile = this.board.getTile(63);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if(Player.calculateAttackOnTile(61, opponentsLegal).isEmpty() &&
-                        Player.calculateAttackOnTile(62, opponentsLegal).isEmpty() &&
+                    if(!this.board.isSquareAttacked(61, Alliance.BLACK) &&
+                        !this.board.isSquareAttacked(62, Alliance.BLACK) &&
                         rookTile.getPiece().getPieceType().isRook()){
                         //ADDS A CASTLEMOVE
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62,
@@ -61,8 +59,8 @@ public class WhitePlayer extends Player {
                     final Tile rookTile = this.board.getTile(56);
 
                     if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()&&
-                    Player.calculateAttackOnTile(58, opponentsLegal).isEmpty() &&
-                    Player.calculateAttackOnTile(59,opponentsLegal).isEmpty() &&
+                    !this.board.isSquareAttacked(58, Alliance.BLACK) &&
+                    !this.board.isSquareAttacked(59, Alliance.BLACK) &&
                     rookTile.getPiece().getPieceType().isRook()){
                         //ADDS A CASTLE MOVE
                         kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, 
@@ -0,0 +1,654 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//negamax with a fail-soft alpha-beta window, same depth convention and evaluation as MiniMax: a node of depth
+//1 or less is a leaf, so a search of depth d looks d - 1 plies ahead, and depth 1 still looks one ply ahead
+public class AlphaBeta implements MoveStrategy {
+
+    //-INFINITY is one above Integer.MIN_VALUE, so negating a bound never overflows
+    static final int INFINITY = Integer.MAX_VALUE;
+    //how many nodes pass between looks at the clock and the stop flag
+    private static final int CHECK_INTERVAL = 1024;
+    //deepest capture sequence followed past the horizon
+    private static final int MAX_QUIESCENCE_PLY = 32;
+    //room left for positional swings when deciding a capture cannot reach alpha
+    private static final int DELTA_MARGIN = 200;
+    //the most one move can gain: capturing a queen while promoting to one
+    private static final int BIG_DELTA = 2 * PieceType.QUEEN.getPieceValue() - PieceType.PAWN.getPieceValue();
+    //shallower than this a null move search is no cheaper than the real one
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    //from this depth on the null move search is reduced by 3 plies instead of 2
+    private static final int NULL_MOVE_DEEP_DEPTH = 7;
+    //scores past this carry a checkmate bonus, which a null move search cannot prove
+    private static final int MATE_THRESHOLD = StandardBitBoardEvaluator.MATE_THRESHOLD;
+    //no futility pruning at this node
+    private static final int NO_FUTILITY = Integer.MIN_VALUE;
+
+    public final BitBoardEvaluator boardEvaluator;
+    public final int searchDepth;
+    //null searches every node from scratch, which keeps the result identical to MiniMax
+    private final TranspositionTable transpositionTable;
+    //null when leaves are scored straight away like MiniMax, one list per quiescence ply otherwise
+    private final MoveList[] quiescenceMoveLists;
+    private final MovePicker[] movePickers;
+    //two quiet moves per ply that recently cut off a sibling node
+    private final int[][] killerMoves;
+    private final HistoryTable historyTable;
+    private final boolean nullMovePruning;
+    private final boolean nullMoveVerification;
+    //null searches every move to full depth
+    private final LateMoveReductions lateMoveReductions;
+    private final boolean principalVariationSearch;
+    //null never prunes on the static score
+    private final FutilityMargins futilityMargins;
+    //triangular table, row ply holds the best line found from that ply on
+    private final int[][] principalVariations;
+    private final int[] principalVariationLengths;
+
+    private SearchListener searchListener = SearchListener.NONE;
+    private volatile boolean stopRequested;
+    //moved by a ponderhit while the search runs
+    private volatile long deadline;
+    private long nodeLimit;
+    private long nodes;
+    private boolean aborted;
+    private int rootScore;
+    //counted for SearchStats only, a handful of increments per node
+    private long quiescenceNodes;
+    private long transpositionProbes;
+    private long transpositionHits;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private int selectiveDepth;
+
+    public AlphaBeta(final int searchDepth) {
+        this(new Builder().setSearchDepth(searchDepth));
+    }
+
+    private AlphaBeta(final Builder builder) {
+        this.boardEvaluator = new StandardBitBoardEvaluator();
+        this.searchDepth = builder.searchDepth;
+        this.transpositionTable = builder.transpositionTable;
+        this.quiescenceMoveLists = builder.quiescence ? createMoveLists(MAX_QUIESCENCE_PLY) : null;
+        this.movePickers = new MovePicker[SearchLimits.MAX_DEPTH + 1];
+        for (int i = 0; i < this.movePickers.length; i++) {
+            this.movePickers[i] = new MovePicker();
+        }
+        this.killerMoves = new int[SearchLimits.MAX_DEPTH + 1][2];
+        this.historyTable = new HistoryTable();
+        this.nullMovePruning = builder.nullMovePruning;
+        this.nullMoveVerification = builder.nullMoveVerification;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.principalVariationSearch = builder.principalVariationSearch;
+        this.futilityMargins = builder.futilityMargins;
+        this.principalVariations = new int[SearchLimits.MAX_DEPTH + 1][SearchLimits.MAX_DEPTH + 1];
+        this.principalVariationLengths = new int[SearchLimits.MAX_DEPTH + 1];
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBeta";
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+
+        final BitBoard position = BitBoard.fromBoard(board);
+        final MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, rootMoves);
+        if (this.transpositionTable != null) {
+            this.transpositionTable.newSearch();
+        }
+        startSearch(Long.MAX_VALUE, Long.MAX_VALUE);
+        //reported only now, so a listener that stops the search from here is not undone by startSearch
+        this.searchListener.searchStarted(board.currentPlayer() + " Thinking with depth " + searchDepth);
+        int bestEncodedMove = searchRoot(position, rootMoves, this.searchDepth);
+        //stopped before any move was scored, the first legal move is still better than none
+        if (bestEncodedMove == MoveEncoding.NULL_MOVE && !rootMoves.isEmpty()) {
+            bestEncodedMove = rootMoves.get(0);
+        }
+        final Move bestMove = MoveEncoding.toMove(board, bestEncodedMove);
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final SearchStats stats = collectStats()
+                .setDepth(plies(this.searchDepth))
+                .setBestMove(bestEncodedMove)
+                .setElapsedTime(executionTime)
+                .setIterationTime(executionTime)
+                .build();
+        this.searchListener.iterationFinished(stats);
+        this.searchListener.searchFinished(stats, bestMove);
+        return bestMove;
+    }
+
+    @Override
+    public void setSearchListener(final SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
+    //asks a running search to give up, the caller keeps whatever it had from earlier iterations
+    @Override
+    public void stop() {
+        this.stopRequested = true;
+    }
+
+    //the caller ages a shared transposition table, once per move however many searchers use it
+    void startSearch(final long deadline, final long nodeLimit) {
+        this.stopRequested = false;
+        this.deadline = deadline;
+        this.nodeLimit = nodeLimit;
+        this.nodes = 0;
+        this.aborted = false;
+        this.quiescenceNodes = 0;
+        this.transpositionProbes = 0;
+        this.transpositionHits = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.selectiveDepth = 0;
+        for (final int[] killers : this.killerMoves) {
+            killers[0] = MoveEncoding.NULL_MOVE;
+            killers[1] = MoveEncoding.NULL_MOVE;
+        }
+        this.historyTable.age();
+    }
+
+    //drops the killers and history the searches before left behind, so move ordering starts from scratch
+    void clearHeuristics() {
+        for (final int[] killers : this.killerMoves) {
+            killers[0] = MoveEncoding.NULL_MOVE;
+            killers[1] = MoveEncoding.NULL_MOVE;
+        }
+        this.historyTable.clear();
+    }
+
+    //starts the clock on a search that was running without one
+    void setDeadline(final long deadline) {
+        this.deadline = deadline;
+    }
+
+    boolean isAborted() {
+        return this.aborted;
+    }
+
+    long getNodes() {
+        return this.nodes;
+    }
+
+    int getRootScore() {
+        return this.rootScore;
+    }
+
+    //everything counted since startSearch, the caller adds what it knows about the iteration
+    SearchStats.Builder collectStats() {
+        return new SearchStats.Builder()
+                .setSelectiveDepth(this.selectiveDepth)
+                .setScore(this.rootScore)
+                .setPrincipalVariation(getPrincipalVariation())
+                .setNodes(this.nodes)
+                .setQuiescenceNodes(this.quiescenceNodes)
+                .setTranspositionProbes(this.transpositionProbes)
+                .setTranspositionHits(this.transpositionHits)
+                .setBetaCutoffs(this.betaCutoffs)
+                .setFirstMoveCutoffs(this.firstMoveCutoffs);
+    }
+
+    //the best line of the last finished root search, starting with the move it returned
+    MoveList getPrincipalVariation() {
+        final MoveList principalVariation = new MoveList();
+        for (int i = 0; i < this.principalVariationLengths[0]; i++) {
+            principalVariation.add(this.principalVariations[0][i]);
+        }
+        return principalVariation;
+    }
+
+    int searchRoot(final BitBoard position, final MoveList rootMoves, final int depth) {
+        return searchRoot(position, rootMoves, depth, -INFINITY, INFINITY);
+    }
+
+    //the root keeps the given order and takes only strictly better moves, so ties resolve as in MiniMax;
+    //a root score at or outside the window only bounds the true score
+    int searchRoot(final BitBoard position, final MoveList rootMoves, final int depth, final int alpha, final int beta) {
+        int bestEncodedMove = MoveEncoding.NULL_MOVE;
+        int bestValue = -INFINITY;
+        int currAlpha = alpha;
+        this.principalVariationLengths[0] = 0;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            final int move = rootMoves.get(i);
+            position.makeMove(move);
+            final int currValue = searchMove(position, depth, 0, i, currAlpha, beta, 0);
+            position.unmakeMove();
+            if (this.aborted) {
+                return MoveEncoding.NULL_MOVE;
+            }
+            if (currValue > bestValue || bestEncodedMove == MoveEncoding.NULL_MOVE) {
+                bestValue = currValue;
+                bestEncodedMove = move;
+                updatePrincipalVariation(0, move);
+                currAlpha = Math.max(currAlpha, currValue);
+                if (currAlpha >= beta) {
+                    break;
+                }
+            }
+        }
+        this.rootScore = bestValue;
+        return bestEncodedMove;
+    }
+
+    private int alphaBeta(final BitBoard position, final int depth, final int ply, int alpha, final int beta,
+                          final boolean allowNullMove) {
+        if ((++this.nodes % CHECK_INTERVAL) == 0 && shouldStop()) {
+            this.aborted = true;
+        }
+        if (this.aborted) {
+            return 0;
+        }
+        this.principalVariationLengths[ply] = 0;
+        this.selectiveDepth = Math.max(this.selectiveDepth, ply);
+        if (depth <= 1) {
+            return this.quiescenceMoveLists != null ? quiescence(position, ply, 0, alpha, beta, depth) :
+                   evaluate(position, depth);
+        }
+        final long zobristKey = position.zobristKey();
+        long entry = TranspositionTable.MISS;
+        if (this.transpositionTable != null) {
+            entry = this.transpositionTable.probe(zobristKey);
+            this.transpositionProbes++;
+            if (entry != TranspositionTable.MISS) {
+                this.transpositionHits++;
+            }
+        }
+        if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= depth) {
+            final int score = fromTableScore(TranspositionTable.score(entry), depth);
+            final int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT ||
+                (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+        }
+        final boolean inCheck = position.isInCheck(position.getSideToMove());
+        if (allowNullMove && this.nullMovePruning && depth >= NULL_MOVE_MIN_DEPTH && !inCheck && hasPieces(position)) {
+            final int nullMoveValue = nullMoveSearch(position, depth, ply, beta);
+            if (this.aborted) {
+                return 0;
+            }
+            if (nullMoveValue >= beta) {
+                return nullMoveValue;
+            }
+        }
+        //the plies left before the children are scored as leaves
+        final int pliesLeft = depth - 1;
+        int futilityValue = NO_FUTILITY;
+        if (this.futilityMargins != null && pliesLeft <= FutilityMargins.MAX_PLIES && !inCheck &&
+            Math.abs(alpha) < MATE_THRESHOLD && Math.abs(beta) < MATE_THRESHOLD) {
+            final int staticValue = evaluate(position, depth);
+            //a null window means the node only has to be bounded, the principal variation is searched in full
+            if (beta - alpha == 1) {
+                final int prunedValue = pruneOnStaticValue(position, depth, ply, pliesLeft, staticValue, alpha, beta);
+                if (this.aborted) {
+                    return 0;
+                }
+                if (prunedValue != NO_FUTILITY) {
+                    return prunedValue;
+                }
+            }
+            if (staticValue + this.futilityMargins.futility(pliesLeft) <= alpha) {
+                futilityValue = staticValue + this.futilityMargins.futility(pliesLeft);
+            }
+        }
+        final MovePicker movePicker = this.movePickers[ply];
+        final int[] killers = this.killerMoves[ply];
+        //the best move found here last time is tried before anything else
+        final int hashMove = entry != TranspositionTable.MISS ? TranspositionTable.move(entry) : MoveEncoding.NULL_MOVE;
+        if (movePicker.init(position, hashMove, killers[0], killers[1], this.historyTable) == 0) {
+            return evaluate(position, depth);
+        }
+        final int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestMove = MoveEncoding.NULL_MOVE;
+        int moveIndex = 0;
+        for (int move = movePicker.next(); move != MoveEncoding.NULL_MOVE; move = movePicker.next(), moveIndex++) {
+            position.makeMove(move);
+            //futility pruning: a quiet move cannot lift the static score to alpha, the first move still bounds
+            //the node and checks are left alone since the score says nothing about them
+            if (futilityValue != NO_FUTILITY && moveIndex > 0 && !MoveEncoding.isCapture(move) &&
+                !MoveEncoding.isPromotion(move) && !position.isInCheck(position.getSideToMove())) {
+                position.unmakeMove();
+                bestValue = Math.max(bestValue, futilityValue);
+                continue;
+            }
+            final int reduction = reduction(position, move, depth, moveIndex, inCheck, killers);
+            final int currValue = searchMove(position, depth, ply, moveIndex, alpha, beta, reduction);
+            position.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (currValue > bestValue) {
+                bestValue = currValue;
+                bestMove = move;
+                if (currValue > alpha) {
+                    alpha = currValue;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        recordCutoff(position, move, depth, killers);
+                        this.betaCutoffs++;
+                        if (moveIndex == 0) {
+                            this.firstMoveCutoffs++;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (this.transpositionTable != null) {
+            final int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+                              bestValue >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            this.transpositionTable.store(zobristKey, depth, bound, toTableScore(bestValue, depth), bestMove);
+        }
+        return bestValue;
+    }
+
+    //a mate's score depends on the depth left where it was found, which differs from path to path, so the table
+    //keeps how far below the node the mate is: mateScore(distance + 1), never mistaken for a depth 0 mate
+    private static int toTableScore(final int score, final int depth) {
+        if (Math.abs(score) < MATE_THRESHOLD) {
+            return score;
+        }
+        final int mateDepth = StandardBitBoardEvaluator.mateDepth(Math.abs(score));
+        final int rest = Math.abs(score) - StandardBitBoardEvaluator.mateScore(mateDepth);
+        return Integer.signum(score) * (StandardBitBoardEvaluator.mateScore(depth - mateDepth + 1) + rest);
+    }
+
+    //the stored mate rebuilt for the depth this node has; a deeper entry may place it past this node's
+    //horizon, where it still counts as a mate, just the slowest there is
+    private static int fromTableScore(final int tableScore, final int depth) {
+        if (Math.abs(tableScore) < MATE_THRESHOLD) {
+            return tableScore;
+        }
+        final int distance = StandardBitBoardEvaluator.mateDepth(Math.abs(tableScore)) - 1;
+        final int rest = Math.abs(tableScore) - StandardBitBoardEvaluator.mateScore(distance + 1);
+        return Integer.signum(tableScore) * (StandardBitBoardEvaluator.mateScore(Math.max(0, depth - distance)) + rest);
+    }
+
+    //scores a move already made on the board from the mover's side; reduced and, under PVS, later moves try a
+    //null window first and only pay for the full window when they land inside it
+    private int searchMove(final BitBoard position, final int depth, final int ply, final int moveIndex,
+                           final int alpha, final int beta, final int reduction) {
+        final boolean nullWindow = this.principalVariationSearch && moveIndex > 0;
+        if (reduction > 0) {
+            final int value = -alphaBeta(position, depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+            if (this.aborted || value <= alpha) {
+                return value;
+            }
+        }
+        if (nullWindow) {
+            final int value = -alphaBeta(position, depth - 1, ply + 1, -alpha - 1, -alpha, true);
+            if (this.aborted || value <= alpha || value >= beta) {
+                return value;
+            }
+        }
+        return -alphaBeta(position, depth - 1, ply + 1, -beta, -alpha, true);
+    }
+
+    private void updatePrincipalVariation(final int ply, final int move) {
+        final int[] line = this.principalVariations[ply];
+        final int childLength = this.principalVariationLengths[ply + 1];
+        line[0] = move;
+        System.arraycopy(this.principalVariations[ply + 1], 0, line, 1, childLength);
+        this.principalVariationLengths[ply] = childLength + 1;
+    }
+
+    //if passing the turn still fails high the real moves almost surely would too; returns below beta when that
+    //does not hold, the verification search guards against the zugzwangs the material test lets through
+    private int nullMoveSearch(final BitBoard position, final int depth, final int ply, final int beta) {
+        final int reduction = depth >= NULL_MOVE_DEEP_DEPTH ? 3 : 2;
+        position.makeMove(MoveEncoding.fromMove(MoveFactory.getNullMove()));
+        final int nullMoveValue = -alphaBeta(position, depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+        position.unmakeMove();
+        if (this.aborted || nullMoveValue < beta) {
+            return nullMoveValue;
+        }
+        final int value = Math.min(nullMoveValue, MATE_THRESHOLD - 1);
+        if (!this.nullMoveVerification) {
+            return value;
+        }
+        final int verifiedValue = alphaBeta(position, depth - reduction, ply, beta - 1, beta, false);
+        //the verification line is no line of this node
+        this.principalVariationLengths[ply] = 0;
+        return verifiedValue >= beta ? value : beta - 1;
+    }
+
+    //reverse futility: the static score beats beta by more than the margin, the side to move keeps it with
+    //some quiet move; razoring: it trails alpha by more than the margin, only captures can save it so they
+    //alone are searched, and one ply from the horizon their score is taken as the node's
+    private int pruneOnStaticValue(final BitBoard position, final int depth, final int ply, final int pliesLeft,
+                                   final int staticValue, final int alpha, final int beta) {
+        if (staticValue - this.futilityMargins.reverseFutility(pliesLeft) >= beta && hasPieces(position)) {
+            return staticValue - this.futilityMargins.reverseFutility(pliesLeft);
+        }
+        //without quiescence there is nothing cheaper to drop into
+        if (this.quiescenceMoveLists == null || staticValue + this.futilityMargins.razoring(pliesLeft) > alpha) {
+            return NO_FUTILITY;
+        }
+        final int value = quiescence(position, ply, 0, alpha, beta, depth);
+        return pliesLeft == 1 || value <= alpha ? value : NO_FUTILITY;
+    }
+
+    //without a piece besides pawns and the king, passing is often the best move there is and the null move lies
+    private static boolean hasPieces(final BitBoard position) {
+        final Alliance side = position.getSideToMove();
+        return (position.getOccupancy(side) & ~position.getPieces(side, PieceType.PAWN) &
+                ~position.getPieces(side, PieceType.KING)) != 0;
+    }
+
+    //late quiet moves that neither escape nor give check are the ones the ordering expects to fail low
+    private int reduction(final BitBoard position, final int move, final int depth, final int moveIndex,
+                          final boolean inCheck, final int[] killers) {
+        if (this.lateMoveReductions == null || depth < LateMoveReductions.MIN_DEPTH ||
+            moveIndex < LateMoveReductions.FULL_DEPTH_MOVES || inCheck ||
+            MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move) ||
+            move == killers[0] || move == killers[1] || position.isInCheck(position.getSideToMove())) {
+            return 0;
+        }
+        return this.lateMoveReductions.reduction(depth, moveIndex);
+    }
+
+    //captures are already ordered by material, only quiet moves learn from a cutoff
+    private void recordCutoff(final BitBoard position, final int move, final int depth, final int[] killers) {
+        if (MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) {
+            return;
+        }
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        this.historyTable.update(position.getSideToMove(), move, depth);
+    }
+
+    //follows captures and promotions past the horizon so a leaf is never scored halfway through an exchange
+    private int quiescence(final BitBoard position, final int searchPly, final int ply, int alpha, final int beta,
+                           final int depth) {
+        if ((++this.nodes % CHECK_INTERVAL) == 0 && shouldStop()) {
+            this.aborted = true;
+        }
+        if (this.aborted) {
+            return 0;
+        }
+        this.quiescenceNodes++;
+        this.selectiveDepth = Math.max(this.selectiveDepth, searchPly + ply);
+        //in check there is no declining: every evasion is searched, quiet ones included, and none means mate
+        if (position.isInCheck(position.getSideToMove()) && ply < MAX_QUIESCENCE_PLY) {
+            return quiescenceEvasions(position, searchPly, ply, alpha, beta, depth);
+        }
+        //the side to move may decline every capture, so the static score is a floor
+        final int standPat = evaluate(position, depth);
+        if (standPat >= beta || ply >= MAX_QUIESCENCE_PLY) {
+            return standPat;
+        }
+        if (standPat + BIG_DELTA < alpha) {
+            return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+        final MoveList moves = this.quiescenceMoveLists[ply];
+        MoveGenerator.generateLegalCaptures(position, moves);
+        MoveOrdering.sort(position, moves);
+        int bestValue = standPat;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            //delta pruning: even winning the victim for free would leave this capture below alpha
+            if (!MoveEncoding.isPromotion(move) && standPat + capturedValue(position, move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            //captures that lose material in the exchange are left out altogether
+            if (!MoveEncoding.isPromotion(move) && MoveOrdering.isLosingCapture(position, move)) {
+                continue;
+            }
+            position.makeMove(move);
+            final int currValue = -quiescence(position, searchPly, ply + 1, -beta, -alpha, depth);
+            position.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (currValue > bestValue) {
+                bestValue = currValue;
+                if (currValue > alpha) {
+                    alpha = currValue;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+
+    private int quiescenceEvasions(final BitBoard position, final int searchPly, final int ply, int alpha,
+                                   final int beta, final int depth) {
+        final MoveList moves = this.quiescenceMoveLists[ply];
+        MoveGenerator.generateLegalMoves(position, moves);
+        if (moves.isEmpty()) {
+            return evaluate(position, depth);
+        }
+        MoveOrdering.sort(position, moves);
+        int bestValue = -INFINITY;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            final int currValue = -quiescence(position, searchPly, ply + 1, -beta, -alpha, depth);
+            position.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (currValue > bestValue) {
+                bestValue = currValue;
+                if (currValue > alpha) {
+                    alpha = currValue;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+
+    private static int capturedValue(final BitBoard position, final int move) {
+        return MoveEncoding.flags(move) == MoveEncoding.EN_PASSANT ? PieceType.PAWN.getPieceValue() :
+               position.pieceTypeAt(MoveEncoding.to(move)).getPieceValue();
+    }
+
+    private boolean shouldStop() {
+        return this.stopRequested || this.nodes >= this.nodeLimit || System.currentTimeMillis() >= this.deadline;
+    }
+
+    //the evaluator scores from white's side, negamax wants the side to move
+    private int evaluate(final BitBoard position, final int depth) {
+        final int score = this.boardEvaluator.evaluate(position, depth);
+        return position.getSideToMove().isWhite() ? score : -score;
+    }
+
+    //how far a search of this depth looks ahead, what SearchStats reports as the depth
+    static int plies(final int depth) {
+        return Math.max(1, depth - 1);
+    }
+
+    static MoveList[] createMoveLists(final int searchDepth) {
+        final MoveList[] moveLists = new MoveList[searchDepth + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    public static class Builder {
+        private int searchDepth;
+        private TranspositionTable transpositionTable;
+        private boolean quiescence;
+        private boolean nullMovePruning;
+        private boolean nullMoveVerification;
+        private LateMoveReductions lateMoveReductions;
+        private boolean principalVariationSearch;
+        private FutilityMargins futilityMargins;
+
+        public Builder setSearchDepth(final int searchDepth) {
+            this.searchDepth = searchDepth;
+            return this;
+        }
+
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        public Builder setQuiescence(final boolean quiescence) {
+            this.quiescence = quiescence;
+            return this;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        //re-searches every null move cutoff at the reduced depth without passing, slower but zugzwang safe
+        public Builder setNullMoveVerification(final boolean nullMoveVerification) {
+            this.nullMoveVerification = nullMoveVerification;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final LateMoveReductions lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        //searches the first move with the full window and the rest with a null window, re-searching fail highs
+        public Builder setPrincipalVariationSearch(final boolean principalVariationSearch) {
+            this.principalVariationSearch = principalVariationSearch;
+            return this;
+        }
+
+        //futility pruning, reverse futility pruning and razoring in the last plies before the horizon
+        public Builder setFutilityMargins(final FutilityMargins futilityMargins) {
+            this.futilityMargins = futilityMargins;
+            return this;
+        }
+
+        public AlphaBeta build() {
+            return new AlphaBeta(this);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+
+public interface BitBoardEvaluator {
+
+    int evaluate(BitBoard position,int depth);
+
+}
@@ -0,0 +1,32 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+//prints what the strategies used to print themselves, for callers that want it on the console
+public class ConsoleSearchListener implements SearchListener {
+
+    @Override
+    public void searchStarted(final String description) {
+        System.out.println(description);
+    }
+
+    @Override
+    public void iterationFinished(final SearchStats stats) {
+        System.out.println(stats);
+    }
+
+    @Override
+    public void searchFinished(final SearchStats stats, final Move bestMove) {
+        final long[] threadNodes = stats.getThreadNodes();
+        if (threadNodes.length > 1) {
+            long totalNodes = 0;
+            for (int i = 0; i < threadNodes.length; i++) {
+                System.out.println("Thread " + i + " Nodes " + threadNodes[i]);
+                totalNodes += threadNodes[i];
+            }
+            System.out.println("Total Nodes " + totalNodes);
+        }
+        System.out.println("Execution Time: " + stats.getElapsedTime() + "ms");
+        System.out.println("Best Move: " + bestMove);
+    }
+}
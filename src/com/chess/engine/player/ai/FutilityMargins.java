@@ -0,0 +1,46 @@
+package com.chess.engine.player.ai;
+
+//how far the static score may sit outside the window before a node just above the horizon is given up on,
+//indexed by the plies left to the horizon: 1 is a frontier node, whose children are scored as leaves
+public final class FutilityMargins {
+
+    //deeper than this the static score says too little about what the search would find
+    public static final int MAX_PLIES = 3;
+
+    private final int[] futility;
+    private final int[] reverseFutility;
+    private final int[] razoring;
+
+    //each array holds the margins for 1, 2 and 3 plies left, in that order
+    public FutilityMargins(final int[] futility, final int[] reverseFutility, final int[] razoring) {
+        this.futility = checkMargins(futility);
+        this.reverseFutility = checkMargins(reverseFutility);
+        this.razoring = checkMargins(razoring);
+    }
+
+    public FutilityMargins() {
+        this(new int[]{200, 350, 500}, new int[]{150, 300, 450}, new int[]{300, 450, 600});
+    }
+
+    private static int[] checkMargins(final int[] margins) {
+        if (margins.length != MAX_PLIES) {
+            throw new IllegalArgumentException("Expected " + MAX_PLIES + " margins, got " + margins.length);
+        }
+        return margins.clone();
+    }
+
+    //a quiet move is skipped when even this gain would leave the static score at or below alpha
+    public int futility(final int pliesLeft) {
+        return this.futility[pliesLeft - 1];
+    }
+
+    //the node fails high without a search when the static score beats beta by this much
+    public int reverseFutility(final int pliesLeft) {
+        return this.reverseFutility[pliesLeft - 1];
+    }
+
+    //the node drops into quiescence when the static score trails alpha by this much
+    public int razoring(final int pliesLeft) {
+        return this.razoring[pliesLeft - 1];
+    }
+}
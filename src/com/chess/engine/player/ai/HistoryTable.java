@@ -0,0 +1,50 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveEncoding;
+
+import java.util.Arrays;
+
+//butterfly history: how often a quiet from/to move caused a cutoff for each side, weighted by depth
+public final class HistoryTable {
+
+    //past this the whole table is halved, which keeps scores inside the move picker's range
+    private static final int MAX_SCORE = 1 << 20;
+
+    private final int[][][] scores = new int[Alliance.values().length][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    public int score(final Alliance sideToMove, final int move) {
+        return this.scores[sideToMove.ordinal()][MoveEncoding.from(move)][MoveEncoding.to(move)];
+    }
+
+    //deep cutoffs say more than shallow ones, so the bonus grows with the square of the depth
+    public void update(final Alliance sideToMove, final int move, final int depth) {
+        final int[] targets = this.scores[sideToMove.ordinal()][MoveEncoding.from(move)];
+        final int to = MoveEncoding.to(move);
+        targets[to] += depth * depth;
+        if (targets[to] > MAX_SCORE) {
+            age();
+        }
+    }
+
+    //forgets everything, for searches that must not depend on what ran before them
+    public void clear() {
+        for (final int[][] side : this.scores) {
+            for (final int[] targets : side) {
+                Arrays.fill(targets, 0);
+            }
+        }
+    }
+
+    //halves everything so the previous search still guides the next one without drowning it out
+    public void age() {
+        for (final int[][] side : this.scores) {
+            for (final int[] targets : side) {
+                for (int i = 0; i < targets.length; i++) {
+                    targets[i] >>= 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveList;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+//searches 1, 2, 3... plies until the limits run out and plays the best move of the last finished iteration;
+//the searcher's depth counts like MiniMax's, one more than the plies it looks ahead, so the first iteration
+//searches depth 2; SearchLimits and SearchStats depths are plies, the transposition table keeps searcher depths
+public class IterativeDeepening implements MoveStrategy {
+
+    public static final int DEFAULT_HASH_SIZE = 16;
+    //half width of the first window around the previous score, doubled after every fail
+    private static final int ASPIRATION_WINDOW = 25;
+    //beyond this the score is too unsettled for a window, the search falls back to the full one
+    private static final int MAX_ASPIRATION_WINDOW = 1000;
+    //the early scores swing too much for a window to pay off
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+
+    private final SearchLimits limits;
+    private final TranspositionTable transpositionTable;
+    private final AlphaBeta searcher;
+    //lazy SMP: one searcher per extra thread, all probing and filling the same transposition table
+    private final AlphaBeta[] helpers;
+    private SearchListener searchListener = SearchListener.NONE;
+    private List<Move> principalVariation;
+    private long[] threadNodes;
+    //the next depth is not started past this, moved along with the searcher's deadline on a ponderhit
+    private volatile long softDeadline;
+    //a ponder search still running without a clock, and the budget it gets once the clock starts
+    private boolean pondering;
+    private long ponderTimeBudget;
+
+    public IterativeDeepening(final SearchLimits limits) {
+        this(limits, new TranspositionTable(DEFAULT_HASH_SIZE));
+    }
+
+    //the table outlives the search, passing the same one to every move keeps what earlier searches learned
+    public IterativeDeepening(final SearchLimits limits, final TranspositionTable transpositionTable) {
+        this(limits, transpositionTable, 1);
+    }
+
+    //the calling thread still decides the move, the other threads only fill the table with what they find
+    public IterativeDeepening(final SearchLimits limits, final TranspositionTable transpositionTable, final int threads) {
+        this.limits = limits;
+        this.transpositionTable = transpositionTable;
+        this.searcher = createSearcher(limits, transpositionTable);
+        this.helpers = new AlphaBeta[Math.max(0, threads - 1)];
+        for (int i = 0; i < this.helpers.length; i++) {
+            this.helpers[i] = createSearcher(limits, transpositionTable);
+        }
+        this.threadNodes = new long[this.helpers.length + 1];
+    }
+
+    private static AlphaBeta createSearcher(final SearchLimits limits, final TranspositionTable transpositionTable) {
+        return new AlphaBeta.Builder()
+                .setSearchDepth(limits.getDepth() + 1)
+                .setTranspositionTable(transpositionTable)
+                .setQuiescence(true)
+                .setNullMovePruning(true)
+                .setLateMoveReductions(new LateMoveReductions())
+                .setPrincipalVariationSearch(true)
+                .setFutilityMargins(new FutilityMargins())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening";
+    }
+
+    @Override
+    public void stop() {
+        this.searcher.stop();
+        for (final AlphaBeta helper : this.helpers) {
+            helper.stop();
+        }
+    }
+
+    @Override
+    public void setSearchListener(final SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
+    //nodes each thread searched during the last move, the calling thread first
+    public long[] getThreadNodes() {
+        return this.threadNodes.clone();
+    }
+
+    //the line expected to follow the move the last search played, that move first
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return search(board, false);
+    }
+
+    //searches board on the opponent's time, without any limit but depth, until ponderHit starts the clock
+    //or stop drops the search
+    public Move ponder(final Board board) {
+        return search(board, true);
+    }
+
+    //the opponent played the move being pondered on, the search carries on as if it had just started with
+    //the limits' time budget; the node limit does not apply to a search that began as a ponder search
+    public synchronized void ponderHit() {
+        if (!this.pondering) {
+            return;
+        }
+        this.pondering = false;
+        final long now = System.currentTimeMillis();
+        if (this.ponderTimeBudget != Long.MAX_VALUE) {
+            this.softDeadline = now + this.ponderTimeBudget / 2;
+            this.searcher.setDeadline(now + this.ponderTimeBudget);
+        }
+    }
+
+    private Move search(final Board board, final boolean ponder) {
+        final long startTime = System.currentTimeMillis();
+
+        final BitBoard position = BitBoard.fromBoard(board);
+        final MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, rootMoves);
+        final long timeBudget = this.limits.timeBudget(position.getSideToMove());
+        final long searchBudget = ponder ? Long.MAX_VALUE : timeBudget;
+        final long deadline = searchBudget == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + searchBudget;
+        this.transpositionTable.newSearch();
+        //a ponderhit racing with the start either finds the search pondering or is repeated by the listener
+        synchronized (this) {
+            this.pondering = ponder;
+            this.ponderTimeBudget = timeBudget;
+            this.softDeadline = searchBudget == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + searchBudget / 2;
+            this.searcher.startSearch(deadline, ponder ? Long.MAX_VALUE : this.limits.getNodes());
+        }
+        //reported only now, so a listener that stops the search from here is not undone by startSearch
+        this.searchListener.searchStarted(board.currentPlayer() + (ponder ? " Pondering with " : " Thinking with ") +
+                                          this.limits);
+
+        //something to play even when the first iteration is cut short
+        int bestEncodedMove = rootMoves.isEmpty() ? MoveEncoding.NULL_MOVE : rootMoves.get(0);
+        MoveList bestLine = new MoveList();
+        if (!rootMoves.isEmpty()) {
+            bestLine.add(bestEncodedMove);
+        }
+        int completedDepth = 0;
+        int completedScore = 0;
+        long iterationStartTime = startTime;
+        long previousIterationNodes = 0;
+        long searchedNodes = 0;
+        final ForkJoinPool pool = this.helpers.length > 0 ? new ForkJoinPool(this.helpers.length) : null;
+        final List<ForkJoinTask<Long>> helperTasks = new ArrayList<>();
+        try {
+            if (pool != null && rootMoves.size() > 1) {
+                startHelpers(pool, helperTasks, position, rootMoves, deadline);
+            }
+            for (int depth = 2; depth <= this.limits.getDepth() + 1 && rootMoves.size() > 1; depth++) {
+                final int move = aspirationSearch(position, rootMoves, depth);
+                if (this.searcher.isAborted()) {
+                    break;
+                }
+                bestEncodedMove = move;
+                bestLine = this.searcher.getPrincipalVariation();
+                completedDepth = depth - 1;
+                completedScore = this.searcher.getRootScore();
+                //searched first at the next depth, which tightens the window for the rest
+                MoveOrdering.moveToFront(rootMoves, move);
+                final long now = System.currentTimeMillis();
+                final long elapsed = now - startTime;
+                final long iterationNodes = this.searcher.getNodes() - searchedNodes;
+                this.searchListener.iterationFinished(this.searcher.collectStats()
+                        .setDepth(depth - 1)
+                        .setBestMove(move)
+                        .setElapsedTime(elapsed)
+                        .setIterationTime(now - iterationStartTime)
+                        .setEffectiveBranchingFactor(previousIterationNodes > 0 ?
+                                (double) iterationNodes / previousIterationNodes : 0)
+                        .build());
+                iterationStartTime = now;
+                previousIterationNodes = iterationNodes;
+                searchedNodes = this.searcher.getNodes();
+                //the next depth costs several times this one, starting it past half the budget rarely pays
+                if (now > this.softDeadline) {
+                    break;
+                }
+            }
+        } finally {
+            finishHelpers(pool, helperTasks);
+            synchronized (this) {
+                this.pondering = false;
+            }
+        }
+        final Move bestMove = MoveEncoding.toMove(board, bestEncodedMove);
+        this.principalVariation = toMoves(board, bestLine);
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        this.searchListener.searchFinished(this.searcher.collectStats()
+                .setDepth(completedDepth)
+                .setScore(completedScore)
+                .setBestMove(bestEncodedMove)
+                .setPrincipalVariation(bestLine)
+                .setElapsedTime(executionTime)
+                .setThreadNodes(this.threadNodes)
+                .build(), bestMove);
+        return bestMove;
+    }
+
+    private void startHelpers(final ForkJoinPool pool, final List<ForkJoinTask<Long>> helperTasks,
+                              final BitBoard position, final MoveList rootMoves, final long deadline) {
+        for (int i = 0; i < this.helpers.length; i++) {
+            final AlphaBeta helper = this.helpers[i];
+            //every other helper runs a depth ahead, so the threads spread over neighbouring iterations
+            final int firstDepth = 2 + (i + 1) % 2;
+            final BitBoard helperPosition = new BitBoard(position);
+            final MoveList helperRootMoves = new MoveList(rootMoves);
+            helper.startSearch(deadline, Long.MAX_VALUE);
+            helperTasks.add(pool.submit(() -> helpSearch(helper, helperPosition, helperRootMoves, firstDepth)));
+        }
+    }
+
+    //stops the helpers once the calling thread is done and records how the nodes spread over the threads
+    private void finishHelpers(final ForkJoinPool pool, final List<ForkJoinTask<Long>> helperTasks) {
+        this.threadNodes = new long[this.helpers.length + 1];
+        this.threadNodes[0] = this.searcher.getNodes();
+        if (pool == null) {
+            return;
+        }
+        for (final AlphaBeta helper : this.helpers) {
+            helper.stop();
+        }
+        for (int i = 0; i < helperTasks.size(); i++) {
+            this.threadNodes[i + 1] = helperTasks.get(i).join();
+        }
+        pool.shutdown();
+    }
+
+    //deepens until stopped, its results only reach the calling thread through the shared table
+    private long helpSearch(final AlphaBeta helper, final BitBoard position, final MoveList rootMoves,
+                            final int firstDepth) {
+        for (int depth = firstDepth; depth <= this.limits.getDepth() + 1; depth++) {
+            final int move = helper.searchRoot(position, rootMoves, depth);
+            if (helper.isAborted()) {
+                break;
+            }
+            MoveOrdering.moveToFront(rootMoves, move);
+        }
+        return helper.getNodes();
+    }
+
+    //opens with a narrow window around the last score, a score outside it only bounds the truth so the
+    //failed side is widened and the depth searched again
+    private int aspirationSearch(final BitBoard position, final MoveList rootMoves, final int depth) {
+        if (depth < ASPIRATION_MIN_DEPTH) {
+            return this.searcher.searchRoot(position, rootMoves, depth);
+        }
+        final int previousScore = this.searcher.getRootScore();
+        int window = ASPIRATION_WINDOW;
+        int alpha = previousScore - window;
+        int beta = previousScore + window;
+        while (true) {
+            final int move = this.searcher.searchRoot(position, rootMoves, depth, alpha, beta);
+            final int score = this.searcher.getRootScore();
+            if (this.searcher.isAborted() || (score > alpha && score < beta)) {
+                return move;
+            }
+            window *= 2;
+            if (window > MAX_ASPIRATION_WINDOW) {
+                return this.searcher.searchRoot(position, rootMoves, depth);
+            }
+            if (score <= alpha) {
+                alpha = score - window;
+            } else {
+                //the move that failed high is the likeliest best move, it leads the re-search
+                MoveOrdering.moveToFront(rootMoves, move);
+                beta = score + window;
+            }
+        }
+    }
+
+    //replays the encoded line on the board, stopping early should a move not be legal there
+    private static List<Move> toMoves(final Board board, final MoveList line) {
+        final List<Move> moves = new ArrayList<>();
+        Board current = board;
+        for (int i = 0; i < line.size(); i++) {
+            final Move move = MoveEncoding.toMove(current, line.get(i));
+            if (move == MoveFactory.getNullMove()) {
+                break;
+            }
+            moves.add(move);
+            current = move.execute();
+        }
+        return ImmutableList.copyOf(moves);
+    }
+}
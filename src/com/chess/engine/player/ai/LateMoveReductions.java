@@ -0,0 +1,33 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveGenerator;
+
+//how many plies to take off a late quiet move, by remaining depth and by its place in the move order
+public final class LateMoveReductions {
+
+    //the first moves of a node are searched at full depth whatever the table says
+    public static final int FULL_DEPTH_MOVES = 3;
+    //shallower than this there is nothing left worth reducing
+    public static final int MIN_DEPTH = 3;
+
+    private final int[][] reductions;
+
+    //reduction = base + ln(depth) * ln(moveIndex) / divisor, rounded down
+    public LateMoveReductions(final double base, final double divisor) {
+        this.reductions = new int[SearchLimits.MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+        for (int depth = MIN_DEPTH; depth < this.reductions.length; depth++) {
+            for (int moveIndex = FULL_DEPTH_MOVES; moveIndex < MoveGenerator.MAX_MOVES; moveIndex++) {
+                this.reductions[depth][moveIndex] = (int) (base + Math.log(depth) * Math.log(moveIndex) / divisor);
+            }
+        }
+    }
+
+    public LateMoveReductions() {
+        this(0.75, 2.25);
+    }
+
+    //never so much that the reduced search skips straight past the horizon
+    public int reduction(final int depth, final int moveIndex) {
+        return Math.min(this.reductions[depth][moveIndex], depth - 2);
+    }
+}
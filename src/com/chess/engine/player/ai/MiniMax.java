@@ -1,23 +1,44 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
 import com.chess.engine.player.ai.OpeningBook.OpeningBook;
 import com.chess.pgn.FenUtilities;
 import com.chess.pgn.UciParser;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 public class MiniMax implements MoveStrategy {
 
-    public final BoardEvaluator boardEvaluator;
+    //the offsets each piece used to walk in turn; with castles last and pieces taken by tile they give the
+    //root its move order
+    private static final int[] KNIGHT_OFFSETS = {-17, -15, -10, -6, 6, 10, 15, 17};
+    private static final int[] BISHOP_DIRECTIONS = {-9, -7, 7, 9};
+    private static final int[] ROOK_DIRECTIONS = {-8, -1, 1, 8};
+    private static final int[] QUEEN_DIRECTIONS = {-9, -8, -7, -1, 1, 8, 7, 9};
+    private static final int[] KING_OFFSETS = {-9, -8, -7, -1, 1, 7, 8, 9};
+    private static final Comparator<Move> ROOT_ORDER = Comparator
+            .comparingInt((Move move) -> move.isCastlingMove() ? BoardUtils.NUM_TILES : move.getCurrentCoordinate())
+            .thenComparingInt(MiniMax::directionOrder);
+
+    public final BitBoardEvaluator boardEvaluator;
     public final int searchDepth;
     private final OpeningBook openingBook;
     public final UciParser uciParser;
+    private SearchListener searchListener = SearchListener.NONE;
+    private long nodes;
+    private volatile boolean stopRequested;
 
     public MiniMax(final int searchDepth, String openingBookContent) {
-        this.boardEvaluator = new StandardBoardEvaluator();
+        this.boardEvaluator = new StandardBitBoardEvaluator();
         this.uciParser=new UciParser();
         this.searchDepth = searchDepth;
         this.openingBook = new OpeningBook(openingBookContent);
@@ -28,88 +49,202 @@ public class MiniMax implements MoveStrategy {
         return "MiniMax with Opening Book";
     }
 
+    @Override
+    public void stop() {
+        this.stopRequested = true;
+    }
+
+    @Override
+    public void setSearchListener(final SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
     @Override
     public Move execute(Board board) {
         final long startTime = System.currentTimeMillis();
         Move bestMove = null;
+        this.nodes = 0;
+        this.stopRequested = false;
 
-        System.out.println(board.currentPlayer() + " Thinking with depth " + searchDepth);
+        this.searchListener.searchStarted(board.currentPlayer() + " Thinking with depth " + searchDepth);
 
         String positionFen = FenUtilities.createFENFromGame(board);
 
-        // Check for opening book moves
+        // Check for opening book moves, reported as a search of depth 0
         Optional<String> bookMove = openingBook.getBookMove(positionFen, 0.5);
         if (bookMove.isPresent()) {
-            System.out.println("hello");
             bestMove = uciParser.parseMove(board, bookMove.get());
-            System.out.println("Opening book move found: " + bestMove);
+            this.searchListener.searchFinished(new SearchStats.Builder()
+                    .setBestMove(MoveEncoding.fromMove(bestMove))
+                    .setElapsedTime(System.currentTimeMillis() - startTime)
+                    .build(), bestMove);
             return bestMove;
         }
 
-        // Fallback to Minimax
+        // Fallback to Minimax, searched on a BitBoard with make/unmake instead of building a Board per node
+        final BitBoard position = BitBoard.fromBoard(board);
+        final boolean isWhite = position.getSideToMove().isWhite();
+        final MoveList[] moveLists = createMoveLists(this.searchDepth);
+        int bestEncodedMove = MoveEncoding.NULL_MOVE;
         int highestSeenVal = Integer.MIN_VALUE;
         int lowerSeenVal = Integer.MAX_VALUE;
 
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currValue = board.currentPlayer().getAlliance().isWhite()
-                        ? min(moveTransition.getTransitionBoard(), searchDepth - 1)
-                        : max(moveTransition.getTransitionBoard(), searchDepth - 1);
-
-                if (board.currentPlayer().getAlliance().isWhite() && currValue > highestSeenVal) {
-                    highestSeenVal = currValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() && currValue < lowerSeenVal) {
-                    lowerSeenVal = currValue;
-                    bestMove = move;
-                }
+        MoveGenerator.generateLegalMoves(position, moveLists[this.searchDepth]);
+        final MoveList moves = rootMoves(board, moveLists[this.searchDepth]);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            position.makeMove(move);
+            final int currValue = isWhite
+                    ? min(position, moveLists, searchDepth - 1)
+                    : max(position, moveLists, searchDepth - 1);
+            position.unmakeMove();
+            //a stopped subtree returns a meaningless score, the moves already scored decide
+            if (this.stopRequested) {
+                break;
+            }
+
+            if (isWhite && currValue > highestSeenVal) {
+                highestSeenVal = currValue;
+                bestEncodedMove = move;
+            } else if (!isWhite && currValue < lowerSeenVal) {
+                lowerSeenVal = currValue;
+                bestEncodedMove = move;
             }
         }
+        if (bestEncodedMove == MoveEncoding.NULL_MOVE && !moves.isEmpty()) {
+            bestEncodedMove = moves.get(0);
+        }
+        bestMove = MoveEncoding.toMove(board, bestEncodedMove);
 
         final long executionTime = System.currentTimeMillis() - startTime;
-        System.out.println("Execution Time: " + executionTime + "ms");
-        System.out.println("Best Move: " + bestMove);
+        final SearchStats stats = new SearchStats.Builder()
+                .setDepth(AlphaBeta.plies(this.searchDepth))
+                .setScore(isWhite ? highestSeenVal : -lowerSeenVal)
+                .setBestMove(bestEncodedMove)
+                .setNodes(this.nodes)
+                .setElapsedTime(executionTime)
+                .setIterationTime(executionTime)
+                .build();
+        this.searchListener.iterationFinished(stats);
+        this.searchListener.searchFinished(stats, bestMove);
         return bestMove;
     }
 
-    private int min(final Board board, final int depth) {
+    private int min(final BitBoard position, final MoveList[] moveLists, final int depth) {
+        this.nodes++;
         // Ensure depth doesn't go below 1 to avoid shallow search or infinite recursion
-        if (depth <= 1 || isGameEndScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+        if (depth <= 1 || this.stopRequested) {
+            return this.boardEvaluator.evaluate(position, depth);
+        }
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        if (isGameEndScenario(moves)) {
+            return this.boardEvaluator.evaluate(position, depth);
         }
         int lowerSeenVal = Integer.MAX_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currVal = max(moveTransition.getTransitionBoard(), depth - 1);
-                if (currVal <= lowerSeenVal) {
-                    lowerSeenVal = currVal;
-                }
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            final int currVal = max(position, moveLists, depth - 1);
+            position.unmakeMove();
+            if (currVal <= lowerSeenVal) {
+                lowerSeenVal = currVal;
             }
         }
         return lowerSeenVal;
     }
 
-    private int max(final Board board, final int depth) {
+    private int max(final BitBoard position, final MoveList[] moveLists, final int depth) {
+        this.nodes++;
         // Ensure depth doesn't go below 1 to avoid shallow search or infinite recursion
-        if (depth <= 1 || isGameEndScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+        if (depth <= 1 || this.stopRequested) {
+            return this.boardEvaluator.evaluate(position, depth);
+        }
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        if (isGameEndScenario(moves)) {
+            return this.boardEvaluator.evaluate(position, depth);
         }
         int highestSeenVal = Integer.MIN_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currVal = min(moveTransition.getTransitionBoard(), depth - 1);
-                if (currVal >= highestSeenVal) {
-                    highestSeenVal = currVal;
-                }
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            final int currVal = min(position, moveLists, depth - 1);
+            position.unmakeMove();
+            if (currVal >= highestSeenVal) {
+                highestSeenVal = currVal;
             }
         }
         return highestSeenVal;
     }
 
-    private static boolean isGameEndScenario(final Board board) {
-        return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
+    //the legal moves in the order the pieces listed them before their moves came from attack tables, so a
+    //tie at the root still goes to the move it always went to
+    private static MoveList rootMoves(final Board board, final MoveList legalMoves) {
+        final List<Move> boardMoves = new ArrayList<>(board.currentPlayer().getLegalMoves());
+        boardMoves.sort(ROOT_ORDER);
+        final MoveList rootMoves = new MoveList();
+        for (final Move move : boardMoves) {
+            final int encodedMove = MoveEncoding.fromMove(move);
+            if (legalMoves.contains(encodedMove) && !rootMoves.contains(encodedMove)) {
+                rootMoves.add(encodedMove);
+            }
+        }
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (!rootMoves.contains(legalMoves.get(i))) {
+                rootMoves.add(legalMoves.get(i));
+            }
+        }
+        return rootMoves;
+    }
+
+    //pawns keep the order they are listed in, knights and kings go by offset, sliders by direction and then
+    //nearest tile first
+    private static int directionOrder(final Move move) {
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        final int rowDistance = to / 8 - from / 8;
+        final int columnDistance = to % 8 - from % 8;
+        final int direction = Integer.signum(rowDistance) * 8 + Integer.signum(columnDistance);
+        final int distance = Math.max(Math.abs(rowDistance), Math.abs(columnDistance));
+        switch (move.getMovePiece().getPieceType()) {
+            case KNIGHT:
+                return indexOf(KNIGHT_OFFSETS, to - from);
+            case BISHOP:
+                return indexOf(BISHOP_DIRECTIONS, direction) * 8 + distance;
+            case ROOK:
+                return indexOf(ROOK_DIRECTIONS, direction) * 8 + distance;
+            case QUEEN:
+                return indexOf(QUEEN_DIRECTIONS, direction) * 8 + distance;
+            case KING:
+                return indexOf(KING_OFFSETS, direction);
+            default:
+                return 0;
+        }
+    }
+
+    private static int indexOf(final int[] offsets, final int offset) {
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] == offset) {
+                return i;
+            }
+        }
+        return offsets.length;
+    }
+
+    //one list per remaining depth, refilled at every node of that depth so the search does not allocate
+    private static MoveList[] createMoveLists(final int searchDepth) {
+        final MoveList[] moveLists = new MoveList[searchDepth + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    private static boolean isGameEndScenario(final MoveList legalMoves) {
+        return legalMoves.isEmpty();
     }
 }
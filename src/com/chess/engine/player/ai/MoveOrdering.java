@@ -0,0 +1,83 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class MoveOrdering {
+
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+    private static final int MOVE_BITS = 16;
+    private static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+    //captures that lose material by static exchange sort below the quiet moves, the rest above them
+    private static final int QUIET_MOVE_SCORE = 64;
+    private static final int GOOD_CAPTURE_SCORE = 2 * QUIET_MOVE_SCORE;
+
+    private MoveOrdering() {
+        throw new RuntimeException("Cant instantiate MoveOrdering");
+    }
+
+    //most valuable victim first, the least valuable attacker breaking ties, quiet moves score zero
+    public static int mvvLva(final BitBoard position, final int move) {
+        int score = 0;
+        if (MoveEncoding.isCapture(move)) {
+            final PieceType victim = MoveEncoding.flags(move) == MoveEncoding.EN_PASSANT ?
+                    PieceType.PAWN : position.pieceTypeAt(MoveEncoding.to(move));
+            final PieceType attacker = position.pieceTypeAt(MoveEncoding.from(move));
+            score = (victim.ordinal() + 1) * NUM_PIECE_TYPES + (NUM_PIECE_TYPES - 1 - attacker.ordinal());
+        }
+        if (MoveEncoding.isPromotion(move)) {
+            score += MoveEncoding.promotionType(move).ordinal();
+        }
+        return score;
+    }
+
+    //winning and even captures by MVV-LVA, then quiet moves, then captures that lose material
+    public static int orderingScore(final BitBoard position, final int move) {
+        if (!MoveEncoding.isCapture(move)) {
+            return QUIET_MOVE_SCORE + mvvLva(position, move);
+        }
+        return (isLosingCapture(position, move) ? 0 : GOOD_CAPTURE_SCORE) + mvvLva(position, move);
+    }
+
+    //taking something at least as valuable as the capturer can never lose, only the rest needs an exchange
+    public static boolean isLosingCapture(final BitBoard position, final int move) {
+        final PieceType attacker = position.pieceTypeAt(MoveEncoding.from(move));
+        final int victimValue = MoveEncoding.flags(move) == MoveEncoding.EN_PASSANT ?
+                PieceType.PAWN.getPieceValue() : position.pieceTypeAt(MoveEncoding.to(move)).getPieceValue();
+        return attacker.getPieceValue() > victimValue && MoveUtils.staticExchange(position, move) < 0;
+    }
+
+    //stable insertion sort, the score rides in the bits above the move so nothing is allocated
+    public static void sort(final BitBoard position, final MoveList moves) {
+        for (int i = 0; i < moves.size(); i++) {
+            moves.set(i, (orderingScore(position, moves.get(i)) << MOVE_BITS) | moves.get(i));
+        }
+        for (int i = 1; i < moves.size(); i++) {
+            final int scoredMove = moves.get(i);
+            int j = i - 1;
+            while (j >= 0 && (moves.get(j) >>> MOVE_BITS) < (scoredMove >>> MOVE_BITS)) {
+                moves.set(j + 1, moves.get(j));
+                j--;
+            }
+            moves.set(j + 1, scoredMove);
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            moves.set(i, moves.get(i) & MOVE_MASK);
+        }
+    }
+
+    //keeps the rest in order; a move that is not in the list leaves it untouched
+    public static void moveToFront(final MoveList moves, final int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                for (int j = i; j > 0; j--) {
+                    moves.swap(j, j - 1);
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+
+//hands out one node's moves best first in stages, so a cutoff on an early move skips scoring the rest;
+//one picker per ply is reused for every node at that ply
+public final class MovePicker {
+
+    private enum Stage {
+        HASH_MOVE,
+        CAPTURES,
+        KILLERS,
+        QUIETS,
+        BAD_CAPTURES,
+        DONE
+    }
+
+    //marks a move that has already been handed out, no legal move goes from a8 to a8
+    private static final int PICKED = MoveEncoding.NULL_MOVE;
+
+    private final MoveList moves = new MoveList();
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+    private final int[] badCaptures = new int[MoveGenerator.MAX_MOVES];
+
+    private BitBoard position;
+    private HistoryTable historyTable;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private Stage stage;
+    private int badCaptureCount;
+    private int badCaptureIndex;
+    private boolean quietsScored;
+
+    //generates the legal moves and returns how many there are
+    public int init(final BitBoard position, final int hashMove, final int firstKiller, final int secondKiller,
+                    final HistoryTable historyTable) {
+        this.position = position;
+        this.historyTable = historyTable;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller;
+        this.stage = Stage.HASH_MOVE;
+        this.badCaptureCount = 0;
+        this.badCaptureIndex = 0;
+        this.quietsScored = false;
+        MoveGenerator.generateLegalMoves(position, this.moves);
+        for (int i = 0; i < this.moves.size(); i++) {
+            final int move = this.moves.get(i);
+            this.scores[i] = isTactical(move) ? MoveOrdering.mvvLva(position, move) : 0;
+        }
+        return this.moves.size();
+    }
+
+    //the next move to search, or MoveEncoding.NULL_MOVE once every move has been handed out
+    public int next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.CAPTURES;
+                    if (take(this.hashMove, false)) {
+                        return this.hashMove;
+                    }
+                    break;
+                case CAPTURES: {
+                    final int move = pickBest(true);
+                    if (move == PICKED) {
+                        this.stage = Stage.KILLERS;
+                    } else if (MoveEncoding.isCapture(move) && MoveOrdering.isLosingCapture(this.position, move)) {
+                        //losing the exchange, tried only after every quiet move
+                        this.badCaptures[this.badCaptureCount++] = move;
+                    } else {
+                        return move;
+                    }
+                    break;
+                }
+                case KILLERS:
+                    if (take(this.firstKiller, true)) {
+                        return this.firstKiller;
+                    }
+                    this.stage = Stage.QUIETS;
+                    if (take(this.secondKiller, true)) {
+                        return this.secondKiller;
+                    }
+                    break;
+                case QUIETS: {
+                    scoreQuiets();
+                    final int move = pickBest(false);
+                    if (move != PICKED) {
+                        return move;
+                    }
+                    this.stage = Stage.BAD_CAPTURES;
+                    break;
+                }
+                case BAD_CAPTURES:
+                    if (this.badCaptureIndex < this.badCaptureCount) {
+                        return this.badCaptures[this.badCaptureIndex++];
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return MoveEncoding.NULL_MOVE;
+            }
+        }
+    }
+
+    private static boolean isTactical(final int move) {
+        return MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move);
+    }
+
+    //hands out a specific move if it is still waiting in the list, killers must be quiet to count
+    private boolean take(final int move, final boolean quietOnly) {
+        if (move == MoveEncoding.NULL_MOVE || (quietOnly && isTactical(move))) {
+            return false;
+        }
+        for (int i = 0; i < this.moves.size(); i++) {
+            if (this.moves.get(i) == move) {
+                this.moves.set(i, PICKED);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scoreQuiets() {
+        if (this.quietsScored) {
+            return;
+        }
+        this.quietsScored = true;
+        for (int i = 0; i < this.moves.size(); i++) {
+            final int move = this.moves.get(i);
+            if (move != PICKED && !isTactical(move)) {
+                this.scores[i] = this.historyTable.score(this.position.getSideToMove(), move);
+            }
+        }
+    }
+
+    //selection of the highest scored remaining move of one kind, earlier generated moves win ties
+    private int pickBest(final boolean tactical) {
+        int bestIndex = -1;
+        for (int i = 0; i < this.moves.size(); i++) {
+            final int move = this.moves.get(i);
+            if (move != PICKED && isTactical(move) == tactical &&
+                (bestIndex < 0 || this.scores[i] > this.scores[bestIndex])) {
+                bestIndex = i;
+            }
+        }
+        if (bestIndex < 0) {
+            return PICKED;
+        }
+        final int move = this.moves.get(bestIndex);
+        this.moves.set(bestIndex, PICKED);
+        return move;
+    }
+}
@@ -7,4 +7,11 @@ public interface MoveStrategy {
     
 
     Move execute(final Board board);
+
+    //asks a running execute to return as soon as it next checks, with the best move it has so far
+    void stop();
+
+    void setSearchListener(final SearchListener searchListener);
+
+    SearchListener getSearchListener();
 }
@@ -0,0 +1,210 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+//splits the root moves over a fork/join pool; the best score so far is shared as the alpha bound, and since
+//ties go to the earlier root move whatever order the threads finish in, every run plays what MiniMax plays.
+//only the move is deterministic: how far the shared bound has come when a task reads it, and so the node
+//count, depends on the scheduling
+public class ParallelRootSearch implements MoveStrategy {
+
+    //no move has been scored yet
+    private static final long NO_SCORE = Long.MIN_VALUE;
+
+    private final int searchDepth;
+    private final int threads;
+    private final boolean youngBrothersWait;
+    //the searchers of the running execute, so stop can reach every pool thread
+    private final Set<AlphaBeta> activeSearchers = ConcurrentHashMap.newKeySet();
+    private SearchListener searchListener = SearchListener.NONE;
+    private volatile boolean stopRequested;
+
+    private ParallelRootSearch(final Builder builder) {
+        this.searchDepth = builder.searchDepth;
+        this.threads = builder.threads;
+        this.youngBrothersWait = builder.youngBrothersWait;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelRootSearch";
+    }
+
+    @Override
+    public void stop() {
+        this.stopRequested = true;
+        for (final AlphaBeta searcher : this.activeSearchers) {
+            searcher.stop();
+        }
+    }
+
+    @Override
+    public void setSearchListener(final SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    @Override
+    public SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        this.stopRequested = false;
+        this.activeSearchers.clear();
+
+        this.searchListener.searchStarted(board.currentPlayer() + " Thinking with depth " + this.searchDepth +
+                                          " on " + this.threads + " threads");
+
+        final BitBoard position = BitBoard.fromBoard(board);
+        final MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, rootMoves);
+        final AtomicLong bestScore = new AtomicLong(NO_SCORE);
+        final AtomicLong nodes = new AtomicLong();
+        //searchers are not thread safe, every pool thread builds its own on first use
+        final ThreadLocal<AlphaBeta> searchers = ThreadLocal.withInitial(this::createSearcher);
+        final ForkJoinPool pool = new ForkJoinPool(this.threads);
+        try {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < rootMoves.size(); i++) {
+                final int index = i;
+                final ForkJoinTask<?> task = pool.submit(() ->
+                        searchRootMove(searchers.get(), position, rootMoves.get(index), index, bestScore, nodes));
+                //the eldest brother sets the bound before the rest are split off
+                if (this.youngBrothersWait && i == 0) {
+                    task.join();
+                }
+                tasks.add(task);
+            }
+            for (final ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        //stopped before any move was scored, the first legal move is still better than none
+        final int bestEncodedMove = bestScore.get() != NO_SCORE ? rootMoves.get(index(bestScore.get())) :
+                rootMoves.isEmpty() ? MoveEncoding.NULL_MOVE : rootMoves.get(0);
+        final Move bestMove = MoveEncoding.toMove(board, bestEncodedMove);
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final SearchStats stats = new SearchStats.Builder()
+                .setDepth(AlphaBeta.plies(this.searchDepth))
+                .setScore(bestScore.get() == NO_SCORE ? 0 : score(bestScore.get()))
+                .setBestMove(bestEncodedMove)
+                .setNodes(nodes.get())
+                .setElapsedTime(executionTime)
+                .setIterationTime(executionTime)
+                .build();
+        this.searchListener.iterationFinished(stats);
+        this.searchListener.searchFinished(stats, bestMove);
+        return bestMove;
+    }
+
+    //pure alpha-beta without pruning heuristics or a shared table, whose scores depend on the window or on timing
+    private AlphaBeta createSearcher() {
+        final AlphaBeta searcher = new AlphaBeta.Builder()
+                .setSearchDepth(this.searchDepth)
+                .setPrincipalVariationSearch(true)
+                .build();
+        this.activeSearchers.add(searcher);
+        return searcher;
+    }
+
+    //a move only has to beat the best score to matter, or equal it when it comes earlier in the root order;
+    //against a bound it first tries a null window, and only a move that beats it reads the bound again, which
+    //other tasks may have raised meanwhile, for the full window search
+    private void searchRootMove(final AlphaBeta searcher, final BitBoard rootPosition, final int move,
+                                final int index, final AtomicLong bestScore, final AtomicLong nodes) {
+        if (this.stopRequested) {
+            return;
+        }
+        final MoveList singleMove = new MoveList();
+        singleMove.add(move);
+        final BitBoard position = new BitBoard(rootPosition);
+        searcher.startSearch(Long.MAX_VALUE, Long.MAX_VALUE);
+        //whichever thread runs the task, it orders moves as if it were the only one
+        searcher.clearHeuristics();
+        //a stop that came in while startSearch reset the flag
+        if (this.stopRequested) {
+            searcher.stop();
+        }
+        int alpha = alpha(bestScore.get(), index);
+        if (alpha > -AlphaBeta.INFINITY) {
+            searcher.searchRoot(position, singleMove, this.searchDepth, alpha, alpha + 1);
+            if (searcher.isAborted() || searcher.getRootScore() <= alpha) {
+                nodes.addAndGet(searcher.getNodes());
+                return;
+            }
+            alpha = Math.max(alpha, alpha(bestScore.get(), index));
+        }
+        searcher.searchRoot(position, singleMove, this.searchDepth, alpha, AlphaBeta.INFINITY);
+        final int score = searcher.getRootScore();
+        nodes.addAndGet(searcher.getNodes());
+        //at or below alpha the score is only a bound, the move cannot be the one played
+        if (score > alpha && !searcher.isAborted()) {
+            bestScore.accumulateAndGet(pack(score, index), Math::max);
+        }
+    }
+
+    //the score the move at index has to beat
+    private static int alpha(final long best, final int index) {
+        if (best == NO_SCORE) {
+            return -AlphaBeta.INFINITY;
+        }
+        return index < index(best) ? Math.max(score(best) - 1, -AlphaBeta.INFINITY) : score(best);
+    }
+
+    //higher scores compare greater, and for equal scores so do earlier root moves
+    private static long pack(final int score, final int index) {
+        return ((long) score << 32) | (MoveGenerator.MAX_MOVES - 1 - index);
+    }
+
+    private static int score(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int index(final long packed) {
+        return MoveGenerator.MAX_MOVES - 1 - (int) packed;
+    }
+
+    public static class Builder {
+        private int searchDepth;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private boolean youngBrothersWait;
+
+        public Builder setSearchDepth(final int searchDepth) {
+            this.searchDepth = searchDepth;
+            return this;
+        }
+
+        public Builder setThreads(final int threads) {
+            this.threads = Math.max(1, threads);
+            return this;
+        }
+
+        //searches the first root move alone, so the rest start with a real bound instead of an open window
+        public Builder setYoungBrothersWait(final boolean youngBrothersWait) {
+            this.youngBrothersWait = youngBrothersWait;
+            return this;
+        }
+
+        public ParallelRootSearch build() {
+            return new ParallelRootSearch(this);
+        }
+    }
+}
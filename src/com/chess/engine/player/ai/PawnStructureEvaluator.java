@@ -3,6 +3,9 @@ package com.chess.engine.player.ai;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -12,6 +15,8 @@ public class PawnStructureEvaluator {
     public static final int ISOLATED_PAWN_PENALTY = -10;
     public static final int DOUBLED_PAWN_PENALTY = -10;
 
+    private static final long FILE_A = 0x0101010101010101L;
+
     private PawnStructureEvaluator() {
     }
 
@@ -32,6 +37,25 @@ public class PawnStructureEvaluator {
         return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
+    //same terms as the column table version, counted with file masks so no table is allocated per evaluation
+    public int pawnStructureScore(final BitBoard position, final Alliance alliance) {
+        final long playerPawns = position.getPieces(alliance, Piece.PieceType.PAWN);
+        int pawnStackPenalty = 0;
+        int numIsolatedPawns = 0;
+        for(int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+            final int pawnStack = Long.bitCount(playerPawns & (FILE_A << column));
+            if(pawnStack > 1) {
+                pawnStackPenalty += pawnStack;
+            }
+            final long neighbourColumns = (column > 0 ? FILE_A << (column - 1) : 0L) |
+                                          (column < BoardUtils.NUM_TILES_PER_ROW - 1 ? FILE_A << (column + 1) : 0L);
+            if((playerPawns & neighbourColumns) == 0) {
+                numIsolatedPawns += pawnStack;
+            }
+        }
+        return pawnStackPenalty * DOUBLED_PAWN_PENALTY + numIsolatedPawns * ISOLATED_PAWN_PENALTY;
+    }
+
     private static Collection<Piece> calculatePlayerPawns(final Player player) {
         return player.getActivePieces().stream().filter(piece -> piece.getPieceType() == Piece.PieceType.PAWN).collect(Collectors.toList());
     }
@@ -0,0 +1,116 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+//thinks on the opponent's time: once the engine has moved it searches the position after the reply the
+//principal variation expects; if that reply comes the search just gets its clock, otherwise it is dropped
+//and a fresh search starts on a transposition table already warmed by it. safe to call from any thread,
+//no call waits for a search
+public final class Ponderer {
+
+    private final IterativeDeepening strategy;
+    private final Executor executor;
+    private final SearchListener searchListener;
+    //the running ponder search and its listener, both null when not pondering
+    private SearchFuture ponderSearch;
+    private PonderListener ponderListener;
+    private long ponderKey;
+
+    //executor must run one task at a time: a dropped search is only told to stop, the next one queues behind
+    //it instead of sharing the strategy with it
+    public Ponderer(final IterativeDeepening strategy, final Executor executor, final SearchListener searchListener) {
+        this.strategy = strategy;
+        this.executor = executor;
+        this.searchListener = searchListener;
+    }
+
+    public synchronized boolean isPondering() {
+        return this.ponderSearch != null;
+    }
+
+    //board is the position right after the engine's move, the strategy's last search having chosen it
+    public synchronized void startPondering(final Board board) {
+        stopPondering();
+        final List<Move> line = this.strategy.getPrincipalVariation();
+        if (line == null || line.size() < 2) {
+            return;
+        }
+        //the line's moves belong to the strategy's own boards
+        final Move expectedReply = MoveEncoding.toMove(board, MoveEncoding.fromMove(line.get(1)));
+        if (expectedReply == MoveFactory.getNullMove()) {
+            return;
+        }
+        final MoveTransition transition = board.currentPlayer().makeMove(expectedReply);
+        if (!transition.getMoveStatus().isDone()) {
+            return;
+        }
+        final Board ponderBoard = transition.getTransitionBoard();
+        this.ponderKey = BitBoard.fromBoard(ponderBoard).zobristKey();
+        this.ponderListener = new PonderListener();
+        this.ponderSearch = SearchFuture.start(this.strategy, () -> this.strategy.ponder(ponderBoard),
+                                               Long.MAX_VALUE, this.ponderListener, this.executor);
+    }
+
+    //the search for the engine's move on board, the position the opponent just left it: on a ponderhit the
+    //ponder search itself, now with the clock running, whose move belongs to an equal board rather than to
+    //board; otherwise a normal search started after the ponder search is dropped
+    public synchronized SearchFuture respond(final Board board) {
+        if (this.ponderSearch != null && BitBoard.fromBoard(board).zobristKey() == this.ponderKey) {
+            final SearchFuture search = this.ponderSearch;
+            this.ponderListener.hitRequested = true;
+            this.strategy.ponderHit();
+            this.ponderSearch = null;
+            this.ponderListener = null;
+            return search;
+        }
+        stopPondering();
+        return SearchFuture.search(this.strategy, board, Long.MAX_VALUE, this.searchListener, this.executor);
+    }
+
+    //tells the ponder search to give up, what it stored in the transposition table stays there
+    public synchronized void stopPondering() {
+        if (this.ponderSearch == null) {
+            return;
+        }
+        this.ponderListener.stopRequested = true;
+        this.strategy.stop();
+        this.ponderSearch = null;
+        this.ponderListener = null;
+    }
+
+    //one per ponder search, so a stale request never reaches a later search
+    private final class PonderListener implements SearchListener {
+
+        //repeated when the search starts, a ponderhit or stop sent earlier would be undone by its reset
+        private volatile boolean hitRequested;
+        private volatile boolean stopRequested;
+
+        @Override
+        public void searchStarted(final String description) {
+            if (this.stopRequested) {
+                Ponderer.this.strategy.stop();
+            } else if (this.hitRequested) {
+                Ponderer.this.strategy.ponderHit();
+            }
+            Ponderer.this.searchListener.searchStarted(description);
+        }
+
+        @Override
+        public void iterationFinished(final SearchStats stats) {
+            Ponderer.this.searchListener.iterationFinished(stats);
+        }
+
+        @Override
+        public void searchFinished(final SearchStats stats, final Move bestMove) {
+            Ponderer.this.searchListener.searchFinished(stats, bestMove);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+//a MoveStrategy running on an executor; cancelling stops the search at its next check instead of letting it
+//run to the end on a thread nobody waits for
+public final class SearchFuture extends CompletableFuture<SearchResult> {
+
+    //deadlines only ever run a stop, one daemon thread serves every search
+    private static final ScheduledExecutorService DEADLINE_TIMER =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "search-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final MoveStrategy strategy;
+    private final long deadline;
+    //set once the executor has picked the search up, before then a cancel has nothing to stop
+    private volatile boolean started;
+
+    private SearchFuture(final MoveStrategy strategy, final long deadline) {
+        this.strategy = strategy;
+        this.deadline = deadline;
+    }
+
+    //deadline is absolute, in System.currentTimeMillis() terms, Long.MAX_VALUE leaves the limits to the strategy;
+    //once the executor runs the search the strategy reports to progress, and it gets its own listener back
+    //before the future completes, or after a cancel once the running search has noticed. an executor running
+    //one task at a time can queue a search behind another of the same strategy that is still stopping
+    public static SearchFuture search(final MoveStrategy strategy, final Board board, final long deadline,
+                                      final SearchListener progress, final Executor executor) {
+        return start(strategy, () -> strategy.execute(board), deadline, progress, executor);
+    }
+
+    //search runs one of strategy's searches, for the ones execute does not cover
+    static SearchFuture start(final MoveStrategy strategy, final Supplier<Move> search, final long deadline,
+                              final SearchListener progress, final Executor executor) {
+        final SearchFuture future = new SearchFuture(strategy, deadline);
+        final ResultListener listener = future.new ResultListener(progress);
+        executor.execute(() -> {
+            future.started = true;
+            //cancelled while queued, the strategy may still belong to the search ahead of this one
+            if (future.isDone()) {
+                return;
+            }
+            final SearchListener previousListener = strategy.getSearchListener();
+            strategy.setSearchListener(listener);
+            final ScheduledFuture<?> timer = deadline == Long.MAX_VALUE ? null :
+                    DEADLINE_TIMER.schedule(strategy::stop, deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            Move bestMove = null;
+            RuntimeException failure = null;
+            try {
+                bestMove = search.get();
+            } catch (final RuntimeException e) {
+                failure = e;
+            } finally {
+                //released before anyone waiting on the future wakes up and reuses the strategy
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                strategy.setSearchListener(previousListener);
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(new SearchResult(bestMove, listener.stats));
+            }
+        });
+        return future;
+    }
+
+    //the future is cancelled before the search is told to stop, so a search just starting sees it either way;
+    //one still queued is never told, the stop would reach whichever search of the strategy runs now
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled && this.started) {
+            this.strategy.stop();
+        }
+        return cancelled;
+    }
+
+    //forwards progress and keeps the final stats for the result
+    private final class ResultListener implements SearchListener {
+
+        private final SearchListener progress;
+        private volatile SearchStats stats;
+
+        private ResultListener(final SearchListener progress) {
+            this.progress = progress;
+        }
+
+        //strategies report the start after resetting their stop flag, a stop that came earlier is repeated here
+        @Override
+        public void searchStarted(final String description) {
+            if (isCancelled() || System.currentTimeMillis() >= SearchFuture.this.deadline) {
+                SearchFuture.this.strategy.stop();
+            }
+            this.progress.searchStarted(description);
+        }
+
+        @Override
+        public void iterationFinished(final SearchStats stats) {
+            this.progress.iterationFinished(stats);
+        }
+
+        @Override
+        public void searchFinished(final SearchStats stats, final Move bestMove) {
+            this.stats = stats;
+            this.progress.searchFinished(stats, bestMove);
+        }
+    }
+}
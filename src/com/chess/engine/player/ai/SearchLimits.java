@@ -0,0 +1,111 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+
+//when a search has to stop: a depth, a fixed time per move, the clock, a node count, or whichever comes first
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    //with only the clock to go by, assume this many moves remain
+    private static final int MOVES_TO_GO = 30;
+    //kept back from the clock for the time between the search ending and the move reaching the board
+    private static final long SAFETY_MARGIN = 50;
+
+    private final int depth;
+    private final long moveTime;
+    private final long whiteTime;
+    private final long blackTime;
+    private final long whiteIncrement;
+    private final long blackIncrement;
+    private final long nodes;
+
+    private SearchLimits(final Builder builder) {
+        this.depth = builder.depth;
+        this.moveTime = builder.moveTime;
+        this.whiteTime = builder.whiteTime;
+        this.blackTime = builder.blackTime;
+        this.whiteIncrement = builder.whiteIncrement;
+        this.blackIncrement = builder.blackIncrement;
+        this.nodes = builder.nodes;
+    }
+
+    //plies to look ahead
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes > 0 ? this.nodes : Long.MAX_VALUE;
+    }
+
+    //milliseconds the side to move may spend, Long.MAX_VALUE when only depth or nodes limit the search
+    public long timeBudget(final Alliance sideToMove) {
+        if (this.moveTime > 0) {
+            return this.moveTime;
+        }
+        final long clock = sideToMove.isWhite() ? this.whiteTime : this.blackTime;
+        if (clock <= 0) {
+            return Long.MAX_VALUE;
+        }
+        final long increment = sideToMove.isWhite() ? this.whiteIncrement : this.blackIncrement;
+        final long budget = clock / MOVES_TO_GO + increment * 3 / 4;
+        return Math.max(1, Math.min(budget, clock - SAFETY_MARGIN));
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " movetime " + this.moveTime + " wtime " + this.whiteTime +
+               " btime " + this.blackTime + " winc " + this.whiteIncrement + " binc " + this.blackIncrement +
+               " nodes " + this.nodes;
+    }
+
+    public static class Builder {
+        private int depth = MAX_DEPTH;
+        private long moveTime;
+        private long whiteTime;
+        private long blackTime;
+        private long whiteIncrement;
+        private long blackIncrement;
+        private long nodes;
+
+        public Builder setDepth(final int depth) {
+            this.depth = Math.max(1, Math.min(MAX_DEPTH, depth));
+            return this;
+        }
+
+        public Builder setMoveTime(final long moveTime) {
+            this.moveTime = moveTime;
+            return this;
+        }
+
+        public Builder setWhiteTime(final long whiteTime) {
+            this.whiteTime = whiteTime;
+            return this;
+        }
+
+        public Builder setBlackTime(final long blackTime) {
+            this.blackTime = blackTime;
+            return this;
+        }
+
+        public Builder setWhiteIncrement(final long whiteIncrement) {
+            this.whiteIncrement = whiteIncrement;
+            return this;
+        }
+
+        public Builder setBlackIncrement(final long blackIncrement) {
+            this.blackIncrement = blackIncrement;
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
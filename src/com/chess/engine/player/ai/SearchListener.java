@@ -0,0 +1,28 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+//receives a search's progress on the searching thread, so implementations should return quickly
+public interface SearchListener {
+
+    //nothing is reported
+    SearchListener NONE = new SearchListener() {
+        @Override
+        public void searchStarted(final String description) {
+        }
+
+        @Override
+        public void iterationFinished(final SearchStats stats) {
+        }
+
+        @Override
+        public void searchFinished(final SearchStats stats, final Move bestMove) {
+        }
+    };
+
+    void searchStarted(String description);
+
+    void iterationFinished(SearchStats stats);
+
+    void searchFinished(SearchStats stats, Move bestMove);
+}
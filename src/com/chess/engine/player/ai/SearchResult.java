@@ -0,0 +1,28 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+public final class SearchResult {
+
+    private final Move bestMove;
+    private final SearchStats stats;
+
+    SearchResult(final Move bestMove, final SearchStats stats) {
+        this.bestMove = bestMove;
+        this.stats = stats;
+    }
+
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    //what the strategy reported when it finished, null if it never reported
+    public SearchStats getStats() {
+        return this.stats;
+    }
+
+    @Override
+    public String toString() {
+        return this.bestMove + " " + this.stats;
+    }
+}
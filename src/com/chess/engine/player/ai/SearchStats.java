@@ -0,0 +1,229 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveList;
+
+//what one search iteration, or a whole search, did: counts are totals since the search started
+public final class SearchStats {
+
+    private final int depth;
+    private final int selectiveDepth;
+    private final int score;
+    private final int bestMove;
+    private final MoveList principalVariation;
+    private final long nodes;
+    private final long quiescenceNodes;
+    private final long transpositionProbes;
+    private final long transpositionHits;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+    private final long elapsedTime;
+    private final long iterationTime;
+    private final double effectiveBranchingFactor;
+    private final long[] threadNodes;
+
+    private SearchStats(final Builder builder) {
+        this.depth = builder.depth;
+        this.selectiveDepth = builder.selectiveDepth;
+        this.score = builder.score;
+        this.bestMove = builder.bestMove;
+        this.principalVariation = builder.principalVariation;
+        this.nodes = builder.nodes;
+        this.quiescenceNodes = builder.quiescenceNodes;
+        this.transpositionProbes = builder.transpositionProbes;
+        this.transpositionHits = builder.transpositionHits;
+        this.betaCutoffs = builder.betaCutoffs;
+        this.firstMoveCutoffs = builder.firstMoveCutoffs;
+        this.elapsedTime = builder.elapsedTime;
+        this.iterationTime = builder.iterationTime;
+        this.effectiveBranchingFactor = builder.effectiveBranchingFactor;
+        this.threadNodes = builder.threadNodes;
+    }
+
+    //plies searched before quiescence
+    public int getDepth() {
+        return this.depth;
+    }
+
+    //deepest ply reached, quiescence included
+    public int getSelectiveDepth() {
+        return this.selectiveDepth;
+    }
+
+    //from the side to move at the root
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    public MoveList getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    public long getTranspositionProbes() {
+        return this.transpositionProbes;
+    }
+
+    public long getTranspositionHits() {
+        return this.transpositionHits;
+    }
+
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    //milliseconds since the search started
+    public long getElapsedTime() {
+        return this.elapsedTime;
+    }
+
+    //milliseconds spent on this iteration alone
+    public long getIterationTime() {
+        return this.iterationTime;
+    }
+
+    //nodes of this iteration over nodes of the one before, 0 for the first
+    public double getEffectiveBranchingFactor() {
+        return this.effectiveBranchingFactor;
+    }
+
+    //nodes each search thread visited, the calling thread first; empty when the strategy does not split
+    public long[] getThreadNodes() {
+        return this.threadNodes.clone();
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedTime > 0 ? this.nodes * 1000 / this.elapsedTime : 0;
+    }
+
+    //how often the first move searched was the one that cut off, the best measure of move ordering
+    public double getFirstMoveCutoffRate() {
+        return this.betaCutoffs > 0 ? (double) this.firstMoveCutoffs / this.betaCutoffs : 0;
+    }
+
+    public double getTranspositionHitRate() {
+        return this.transpositionProbes > 0 ? (double) this.transpositionHits / this.transpositionProbes : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Depth %d/%d Score %d Nodes %d QNodes %d NPS %d TT %d/%d Cutoffs %d First %.1f%% " +
+                             "EBF %.2f Time %dms PV: %s",
+                             this.depth, this.selectiveDepth, this.score, this.nodes, this.quiescenceNodes,
+                             getNodesPerSecond(), this.transpositionHits, this.transpositionProbes, this.betaCutoffs,
+                             getFirstMoveCutoffRate() * 100, this.effectiveBranchingFactor, this.elapsedTime,
+                             this.principalVariation);
+    }
+
+    public static class Builder {
+        private int depth;
+        private int selectiveDepth;
+        private int score;
+        private int bestMove = MoveEncoding.NULL_MOVE;
+        private MoveList principalVariation = new MoveList();
+        private long nodes;
+        private long quiescenceNodes;
+        private long transpositionProbes;
+        private long transpositionHits;
+        private long betaCutoffs;
+        private long firstMoveCutoffs;
+        private long elapsedTime;
+        private long iterationTime;
+        private double effectiveBranchingFactor;
+        private long[] threadNodes = new long[0];
+
+        public Builder setDepth(final int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        public Builder setSelectiveDepth(final int selectiveDepth) {
+            this.selectiveDepth = selectiveDepth;
+            return this;
+        }
+
+        public Builder setScore(final int score) {
+            this.score = score;
+            return this;
+        }
+
+        public Builder setBestMove(final int bestMove) {
+            this.bestMove = bestMove;
+            return this;
+        }
+
+        public Builder setPrincipalVariation(final MoveList principalVariation) {
+            this.principalVariation = principalVariation;
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public Builder setQuiescenceNodes(final long quiescenceNodes) {
+            this.quiescenceNodes = quiescenceNodes;
+            return this;
+        }
+
+        public Builder setTranspositionProbes(final long transpositionProbes) {
+            this.transpositionProbes = transpositionProbes;
+            return this;
+        }
+
+        public Builder setTranspositionHits(final long transpositionHits) {
+            this.transpositionHits = transpositionHits;
+            return this;
+        }
+
+        public Builder setBetaCutoffs(final long betaCutoffs) {
+            this.betaCutoffs = betaCutoffs;
+            return this;
+        }
+
+        public Builder setFirstMoveCutoffs(final long firstMoveCutoffs) {
+            this.firstMoveCutoffs = firstMoveCutoffs;
+            return this;
+        }
+
+        public Builder setElapsedTime(final long elapsedTime) {
+            this.elapsedTime = elapsedTime;
+            return this;
+        }
+
+        public Builder setIterationTime(final long iterationTime) {
+            this.iterationTime = iterationTime;
+            return this;
+        }
+
+        public Builder setEffectiveBranchingFactor(final double effectiveBranchingFactor) {
+            this.effectiveBranchingFactor = effectiveBranchingFactor;
+            return this;
+        }
+
+        public Builder setThreadNodes(final long[] threadNodes) {
+            this.threadNodes = threadNodes.clone();
+            return this;
+        }
+
+        public SearchStats build() {
+            return new SearchStats(this);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//scores a position straight from the bitboards, so the search never builds a Board; like Player.getLegalMoves,
+//mobility and attacks count each piece's pseudo legal moves plus castling
+public final class StandardBitBoardEvaluator implements BitBoardEvaluator {
+
+    private static final int CHECK_BONUS = 45;
+    private static final int CHECKMATE_BONUS = 10000;
+    private static final int DEPTH_BONUS = 100;
+    private static final int MOBILITY_MULTIPLIER = 5;
+    private static final int ATTACK_MULTIPLIER = 1;
+    private static final int TWO_BISHOPS_BONUS = 25;
+    //every promotion is four moves, one per piece it can become
+    private static final int PROMOTION_PIECES = 4;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    //a mate scores its bonus twice, as a king threat and as checkmate: at least twice CHECKMATE_BONUS, with
+    //every other term together nowhere near CHECKMATE_BONUS, so scores past it are mates and the rest are not
+    public static final int MATE_THRESHOLD = CHECKMATE_BONUS;
+
+    //scratch list for the mate test, so an evaluator instance belongs to one searching thread
+    private final MoveList moveList = new MoveList();
+
+    @Override
+    public int evaluate(final BitBoard position, final int depth) {
+        final Alliance sideToMove = position.getSideToMove();
+        final boolean isInCheck = position.isInCheck(sideToMove);
+        if (isInCheck) {
+            MoveGenerator.generateLegalMoves(position, this.moveList);
+        }
+        final boolean isInCheckMate = isInCheck && this.moveList.isEmpty();
+        final int whiteMobility = mobility(position, Alliance.WHITE);
+        final int blackMobility = mobility(position, Alliance.BLACK);
+        final int whiteScore = scorePlayer(position, Alliance.WHITE, whiteMobility, blackMobility,
+                sideToMove.isBlack() && isInCheck, sideToMove.isBlack() && isInCheckMate, depth);
+        final int blackScore = scorePlayer(position, Alliance.BLACK, blackMobility, whiteMobility,
+                sideToMove.isWhite() && isInCheck, sideToMove.isWhite() && isInCheckMate, depth);
+        return whiteScore - blackScore;
+    }
+
+    //no castle bonus: Player.isCasteled never reports a castled king, so the Board evaluation never gave one
+    private static int scorePlayer(final BitBoard position, final Alliance alliance, final int mobility,
+                                   final int opponentMobility, final boolean isOpponentInCheck,
+                                   final boolean isOpponentInCheckMate, final int depth) {
+        final boolean isInCheck = position.isInCheck(alliance);
+        return pieceValue(position, alliance) +
+                attacks(position, alliance) +
+                kingThreats(isOpponentInCheck, isOpponentInCheckMate, depth) +
+                mobilityRatio(mobility, opponentMobility) * MOBILITY_MULTIPLIER +
+                check(isOpponentInCheck) +
+                checkMate(isOpponentInCheckMate, depth) +
+                PawnStructureEvaluator.get().pawnStructureScore(position, alliance) +
+                stalemateRisk(mobility, isInCheck) -
+                checkmateRisk(mobility, isInCheck);
+    }
+
+    private static int pieceValue(final BitBoard position, final Alliance alliance) {
+        int pieceValuationScore = 0;
+        for (final PieceType pieceType : PIECE_TYPES) {
+            long pieces = position.getPieces(alliance, pieceType);
+            while (pieces != 0) {
+                final int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                pieceValuationScore += pieceType.getPieceValue() + locationBonus(alliance, pieceType, square);
+            }
+        }
+        return pieceValuationScore +
+                (Long.bitCount(position.getPieces(alliance, PieceType.BISHOP)) == 2 ? TWO_BISHOPS_BONUS : 0);
+    }
+
+    private static int locationBonus(final Alliance alliance, final PieceType pieceType, final int square) {
+        switch (pieceType) {
+            case PAWN:
+                return alliance.pawnBonus(square);
+            case KNIGHT:
+                return alliance.knightBonus(square);
+            case BISHOP:
+                return alliance.bishopBonus(square);
+            case ROOK:
+                return alliance.rookBonus(square);
+            case QUEEN:
+                return alliance.queenBonus(square);
+            default:
+                return alliance.kingBonus(square);
+        }
+    }
+
+    //the pseudo legal move count Player.getLegalMoves gives, castling included
+    private static int mobility(final BitBoard position, final Alliance alliance) {
+        final long own = position.getOccupancy(alliance);
+        final long enemy = position.getOccupancy(BitBoard.opponent(alliance));
+        final long occupancy = position.getOccupancy();
+        int mobility = 0;
+        long pawns = position.getPieces(alliance, PieceType.PAWN);
+        while (pawns != 0) {
+            final int square = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final int oneStep = square + 8 * alliance.getDirection();
+            final boolean promotes = alliance.isPawnPromotionSquare(oneStep);
+            if ((occupancy & (1L << oneStep)) == 0) {
+                mobility += promotes ? PROMOTION_PIECES : 1;
+                final int twoSteps = oneStep + 8 * alliance.getDirection();
+                if (isPawnStartSquare(alliance, square) && (occupancy & (1L << twoSteps)) == 0) {
+                    mobility++;
+                }
+            }
+            final long captures = AttackTables.pawnAttacks(alliance, square);
+            mobility += Long.bitCount(captures & enemy) * (promotes ? PROMOTION_PIECES : 1);
+            if (isEnPassantCapture(position, alliance, captures)) {
+                mobility++;
+            }
+        }
+        for (int pieceType = PieceType.KNIGHT.ordinal(); pieceType < PIECE_TYPES.length; pieceType++) {
+            long pieces = position.getPieces(alliance, PIECE_TYPES[pieceType]);
+            while (pieces != 0) {
+                final int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                mobility += Long.bitCount(attacks(PIECE_TYPES[pieceType], alliance, square, occupancy) & ~own);
+            }
+        }
+        return mobility + castles(position, alliance);
+    }
+
+    private static boolean isPawnStartSquare(final Alliance alliance, final int square) {
+        return alliance.isWhite() ? square >= 48 && square < 56 : square >= 8 && square < 16;
+    }
+
+    //the en passant square only ever belongs to the side to move
+    private static boolean isEnPassantCapture(final BitBoard position, final Alliance alliance, final long captures) {
+        final int enPassantSquare = position.getEnPassantSquare();
+        return enPassantSquare != BitBoard.NO_SQUARE && position.getSideToMove() == alliance &&
+               (captures & (1L << enPassantSquare)) != 0;
+    }
+
+    //castles Player.calculateKingCastles would offer: the right kept, the squares between empty, and neither
+    //the king nor the squares it crosses attacked
+    private static int castles(final BitBoard position, final Alliance alliance) {
+        final Alliance opponent = BitBoard.opponent(alliance);
+        if (position.isInCheck(alliance)) {
+            return 0;
+        }
+        final int kingSquare = alliance.isWhite() ? 60 : 4;
+        final long occupancy = position.getOccupancy();
+        int castles = 0;
+        if ((position.getCastlingRights() & BitBoard.kingSideRight(alliance)) != 0 &&
+            (occupancy & (3L << (kingSquare + 1))) == 0 &&
+            !position.isSquareAttacked(kingSquare + 1, opponent) &&
+            !position.isSquareAttacked(kingSquare + 2, opponent)) {
+            castles++;
+        }
+        if ((position.getCastlingRights() & BitBoard.queenSideRight(alliance)) != 0 &&
+            (occupancy & (7L << (kingSquare - 3))) == 0 &&
+            !position.isSquareAttacked(kingSquare - 1, opponent) &&
+            !position.isSquareAttacked(kingSquare - 2, opponent)) {
+            castles++;
+        }
+        return castles;
+    }
+
+    private static int mobilityRatio(final int mobility, final int opponentMobility) {
+        return mobility == 0 || opponentMobility == 0 ? 0 : (int) ((mobility * 10.0f) / opponentMobility);
+    }
+
+    //pseudo legal captures of a piece worth at least the capturing one; Board wraps a capturing promotion
+    //around a plain pawn move, so those never count
+    private static int attacks(final BitBoard position, final Alliance alliance) {
+        final long enemy = position.getOccupancy(BitBoard.opponent(alliance));
+        final long occupancy = position.getOccupancy();
+        int attackScore = 0;
+        for (final PieceType pieceType : PIECE_TYPES) {
+            long pieces = position.getPieces(alliance, pieceType);
+            while (pieces != 0) {
+                final int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                final long targets = attacks(pieceType, alliance, square, occupancy);
+                if (pieceType == PieceType.PAWN) {
+                    if (alliance.isPawnPromotionSquare(square + 8 * alliance.getDirection())) {
+                        continue;
+                    }
+                    if (isEnPassantCapture(position, alliance, targets)) {
+                        attackScore++;
+                    }
+                }
+                long attacked = targets & enemy;
+                while (attacked != 0) {
+                    final int attackedSquare = Long.numberOfTrailingZeros(attacked);
+                    attacked &= attacked - 1;
+                    if (pieceType.getPieceValue() <= position.pieceTypeAt(attackedSquare).getPieceValue()) {
+                        attackScore++;
+                    }
+                }
+            }
+        }
+        return attackScore * ATTACK_MULTIPLIER;
+    }
+
+    private static long attacks(final PieceType pieceType, final Alliance alliance, final int square, final long occupancy) {
+        switch (pieceType) {
+            case PAWN:
+                return AttackTables.pawnAttacks(alliance, square);
+            case KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case BISHOP:
+                return AttackTables.bishopAttacks(square, occupancy);
+            case ROOK:
+                return AttackTables.rookAttacks(square, occupancy);
+            case QUEEN:
+                return AttackTables.queenAttacks(square, occupancy);
+            default:
+                return AttackTables.kingAttacks(square);
+        }
+    }
+
+    private static int check(final boolean isOpponentInCheck) {
+        return isOpponentInCheck ? CHECK_BONUS : 0;
+    }
+
+    private static int kingThreats(final boolean isOpponentInCheck, final boolean isOpponentInCheckMate, final int depth) {
+        return isOpponentInCheckMate ? CHECKMATE_BONUS * depthBonus(depth) : check(isOpponentInCheck);
+    }
+
+    private static int checkMate(final boolean isOpponentInCheckMate, final int depth) {
+        return isOpponentInCheckMate ? CHECKMATE_BONUS * depthBonus(depth) : 0;
+    }
+
+    private static int depthBonus(final int depth) {
+        return depth == 0 ? 1 : DEPTH_BONUS * depth;
+    }
+
+    //the part of a mate's score set by the depth left where it was found, the rest is the usual terms
+    public static int mateScore(final int depth) {
+        return 2 * CHECKMATE_BONUS * depthBonus(depth);
+    }
+
+    //the depth left where a mate scoring this was found; from depth 1 on every depth adds a whole
+    //mateScore(1), which dwarfs the usual terms
+    public static int mateDepth(final int score) {
+        return (score + mateScore(1) / 2) / mateScore(1);
+    }
+
+    //on an empty pseudo legal move list, as Player.getLegalMoves has it
+    private static int stalemateRisk(final int mobility, final boolean isInCheck) {
+        return mobility == 0 && !isInCheck ? CHECKMATE_BONUS / 2 : 0;
+    }
+
+    private static int checkmateRisk(final int mobility, final boolean isInCheck) {
+        return isInCheck && mobility == 0 ? CHECKMATE_BONUS : 0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+//search results by zobrist key, preallocated and shared between search threads without locks
+public final class TranspositionTable {
+
+    public static final long MISS = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    //a bucket is two key/data pairs: a depth preferred slot and an always replaced slot
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BUCKET_BYTES = LONGS_PER_BUCKET * Long.BYTES;
+
+    //data layout: move 0-15, depth 16-23, bound 24-25, age 26-31, score 32-63
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 24;
+    private static final int AGE_SHIFT = 26;
+    private static final int SCORE_SHIFT = 32;
+    private static final int AGE_MASK = 63;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int age;
+
+    public TranspositionTable(final int megabytes) {
+        final long buckets = Math.max(1, megabytes * 1024L * 1024L / BUCKET_BYTES);
+        final int bucketCount = Integer.highestOneBit((int) Math.min(buckets, Integer.MAX_VALUE / LONGS_PER_BUCKET));
+        this.table = new long[bucketCount * LONGS_PER_BUCKET];
+        this.bucketMask = bucketCount - 1;
+    }
+
+    //entries from earlier searches stay readable but lose their claim on the depth preferred slot
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+    }
+
+    //the packed data for the key, or MISS; keys are stored xored with their data so a torn write reads as a miss
+    public long probe(final long key) {
+        final int bucket = bucketIndex(key);
+        for (int slot = bucket; slot < bucket + LONGS_PER_BUCKET; slot += 2) {
+            final long data = this.table[slot + 1];
+            if (data != MISS && (this.table[slot] ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    public void store(final long key, final int depth, final int bound, final int score, final int move) {
+        final int bucket = bucketIndex(key);
+        final long data = (move & 0xFFFFL) |
+                          ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT) |
+                          ((long) bound << BOUND_SHIFT) |
+                          ((long) this.age << AGE_SHIFT) |
+                          ((long) score << SCORE_SHIFT);
+        final long preferredData = this.table[bucket + 1];
+        final boolean samePosition = (this.table[bucket] ^ preferredData) == key;
+        final int slot = preferredData == MISS || samePosition || depth(preferredData) <= depth ||
+                         age(preferredData) != this.age ? bucket : bucket + 2;
+        this.table[slot] = key ^ data;
+        this.table[slot + 1] = data;
+    }
+
+    public static int move(final long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int depth(final long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int bound(final long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 3);
+    }
+
+    public static int score(final long data) {
+        return (int) (data >> SCORE_SHIFT);
+    }
+
+    private static int age(final long data) {
+        return (int) ((data >>> AGE_SHIFT) & AGE_MASK);
+    }
+
+    private int bucketIndex(final long key) {
+        return ((int) (key ^ (key >>> 32)) & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+}
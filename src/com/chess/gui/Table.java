@@ -19,11 +19,17 @@ import static javax.swing.SwingUtilities.isRightMouseButton;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.ConsoleSearchListener;
+import com.chess.engine.player.ai.IterativeDeepening;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.Ponderer;
+import com.chess.engine.player.ai.SearchFuture;
+import com.chess.engine.player.ai.SearchLimits;
 import com.google.common.collect.Lists;
 
 import java.awt.BorderLayout;
@@ -36,6 +42,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -43,7 +51,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class Table extends Observable{
     private final JFrame gameFrame;
@@ -58,10 +69,22 @@ public class Table extends Observable{
     private Piece humanMovedPiece;
 
     private boolean highlightLegalMoves;
+    //runs the iterative deepening engine, keeping its transposition table from move to move within a game;
+    //replaced on every game setup, read by the AI's worker thread
+    private volatile Ponderer ponderer;
+    //every engine search runs here, one at a time, so the board never waits on one
+    private final Executor engineExecutor;
+    //the computer's move being searched, cancelled when the game it was for is left
+    private volatile SearchFuture aiSearch;
+    //read by the AI's worker thread, toggled on the event thread; pondering needs the iterative deepening
+    //engine, so ponder is only ever set alongside iterativeDeepening
+    private volatile boolean iterativeDeepening;
+    private volatile boolean ponder;
 
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600,600);
     private final static Dimension BOARD_PANNEL_DIMENSION = new Dimension(400,350);
     private final static Dimension TILE_PANNEL_DIMENSION = new Dimension(60,60);
+    private static final long ENGINE_MOVE_TIME = 3000;
 
     private static final Color lightTileColor = Color.decode("#FFFACD"); 
     private static final Color darkTileColor = Color.decode("#593E1A");
@@ -81,10 +104,24 @@ public class Table extends Observable{
         this.gameFrame.setJMenuBar(tableMenuBar);
         this.boardPanel=new BoardPanel();
         this.highlightLegalMoves=false;
+        this.engineExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ponderer = createPonderer();
+        this.iterativeDeepening=false;
+        this.ponder=false;
         this.addObserver(new TableGameAIWatcher());
         this.gameFrame.add(this.boardPanel,BorderLayout.CENTER);
         this.boardDirection= BoardDirection.NORMAL;
         this.gameSetup= new GameSetup(this.gameFrame, true);
+        this.gameFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(final WindowEvent e){
+                Table.get().stopEngine();
+            }
+        });
         this.gameFrame.setVisible(true);
     }
         
@@ -103,6 +140,24 @@ public class Table extends Observable{
     private Board getGameBoard(){
         return this.chessBoard;
     }
+
+    private Ponderer getPonderer(){
+        return this.ponderer;
+    }
+
+    private boolean isPonderEnabled(){
+        return this.ponder;
+    }
+
+    private boolean isIterativeDeepeningEnabled(){
+        return this.iterativeDeepening;
+    }
+
+    private Ponderer createPonderer(){
+        return new Ponderer(new IterativeDeepening(new SearchLimits.Builder().setMoveTime(ENGINE_MOVE_TIME).build()),
+                this.engineExecutor, new ConsoleSearchListener());
+    }
+
     private JMenuBar createTableMenuBar() {
         final JMenuBar tableMenuBar = new JMenuBar();
         tableMenuBar.add(createFileMenu());
@@ -157,10 +212,38 @@ public class Table extends Observable{
             }
         });
         preferencesMenu.add(legalMoveHighliterCheckbox);
-        return preferencesMenu;
 
+        preferencesMenu.addSeparator();
 
-        
+        final JCheckBoxMenuItem iterativeDeepeningCheckbox= new JCheckBoxMenuItem("Iterative Deepening (3s)",false);
+        final JCheckBoxMenuItem ponderCheckbox= new JCheckBoxMenuItem("Ponder",false);
+        ponderCheckbox.setEnabled(false);
+
+        iterativeDeepeningCheckbox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e){
+                iterativeDeepening = iterativeDeepeningCheckbox.isSelected();
+                ponderCheckbox.setEnabled(iterativeDeepening);
+                if(!iterativeDeepening){
+                    ponderCheckbox.setSelected(false);
+                    ponder = false;
+                    ponderer.stopPondering();
+                }
+            }
+        });
+        preferencesMenu.add(iterativeDeepeningCheckbox);
+
+        ponderCheckbox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e){
+                ponder = ponderCheckbox.isSelected();
+                if(!ponder){
+                    ponderer.stopPondering();
+                }
+            }
+        });
+        preferencesMenu.add(ponderCheckbox);
+        return preferencesMenu;
     }
 
     private JMenu createOptionsMenu(){
@@ -179,6 +262,10 @@ public class Table extends Observable{
     }
 
     private void setupUpdate(final GameSetup gameSetup){
+        //the search running for the old players, or pondering a position that may never come, is wasted
+        stopEngine();
+        //a fresh table and line, nothing the engine learnt about the last game carries into this one
+        this.ponderer = createPonderer();
         setChanged();
         notifyObservers(gameSetup);
     }
@@ -213,6 +300,22 @@ public class Table extends Observable{
     private BoardPanel getBoardPannel(){
         return this.boardPanel;
     }
+    private void setAISearch(final SearchFuture aiSearch){
+        this.aiSearch = aiSearch;
+    }
+
+    private Executor getEngineExecutor(){
+        return this.engineExecutor;
+    }
+
+    private void stopEngine(){
+        final SearchFuture aiSearch = this.aiSearch;
+        if(aiSearch != null){
+            aiSearch.cancel(true);
+        }
+        this.ponderer.stopPondering();
+    }
+
     private void moveMadeUpdate(final PlayerType playerType){
         setChanged();
         notifyObservers(playerType);
@@ -221,27 +324,51 @@ public class Table extends Observable{
     private static class AIThinkTank extends SwingWorker<Move, String> {
 
         private final String openingBookContent;
+        //the position searched, a move for it is stale once the game has left it
+        private final Board board;
     
         private AIThinkTank() {
+            this.board = Table.get().getGameBoard();
             this.openingBookContent = loadOpeningBook("book/Book.txt");
-            System.out.println("eh"+openingBookContent);
         }
     
         @Override
         protected Move doInBackground() throws Exception {
-            // Pass the opening book content to the MiniMax constructor
-            final MoveStrategy miniMax = new MiniMax(4, openingBookContent);
-            return miniMax.execute(Table.get().getGameBoard());
+            final SearchFuture search;
+            //a ponderhit plays the search already running, otherwise a new search on the warmed table
+            if(Table.get().isIterativeDeepeningEnabled()){
+                search = Table.get().getPonderer().respond(this.board);
+            } else {
+                // Pass the opening book content to the MiniMax constructor
+                final MoveStrategy miniMax = new MiniMax(4, openingBookContent);
+                search = SearchFuture.search(miniMax, this.board, Long.MAX_VALUE,
+                        new ConsoleSearchListener(), Table.get().getEngineExecutor());
+            }
+            Table.get().setAISearch(search);
+            try {
+                //a ponderhit's move comes from the ponder search's own board
+                return MoveEncoding.toMove(this.board, MoveEncoding.fromMove(search.join().getBestMove()));
+            } catch (final CancellationException e) {
+                return null;
+            }
         }
     
         @Override
         public void done() {
             try {
                 final Move bestMove = get();
+                //cancelled, or the game went on without this search
+                if(bestMove == null || Table.get().getGameBoard() != this.board){
+                    return;
+                }
                 Table.get().updateComputerMove(bestMove);
                 Table.get().updateGameboard(
                     Table.get().getGameBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
                 Table.get().getBoardPannel().drawBoard(Table.get().getGameBoard());
+                if(Table.get().isPonderEnabled() &&
+                   !Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer())){
+                    Table.get().getPonderer().startPondering(Table.get().getGameBoard());
+                }
                 Table.get().moveMadeUpdate(PlayerType.COMPUTER);
             } catch (InterruptedException | ExecutionException e) {
                 e.printStackTrace();
@@ -252,8 +379,6 @@ public class Table extends Observable{
             try {
                 File file = new File(filePath);
                 if (file.exists()) {
-                    String string = new String(java.nio.file.Files.readAllBytes(file.toPath()));
-                    System.out.println(string);
                     return new String(java.nio.file.Files.readAllBytes(file.toPath()));
                 } else {
                     System.err.println("Opening book file not found: " + filePath);
@@ -0,0 +1,219 @@
+package com.chess.perft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+
+//counts the leaves of the legal move tree, the standard check that a move generator is correct and fast
+public final class Perft {
+
+    private final Generator generator;
+    private final int threads;
+    private final int hashSize;
+
+    private Perft(final Builder builder) {
+        this.generator = builder.generator;
+        this.threads = builder.threads;
+        this.hashSize = builder.hashSize;
+    }
+
+    public PerftResult run(final String fen, final int depth) {
+        final long startTime = System.currentTimeMillis();
+        final PerftHashTable hashTable = this.hashSize > 0 ? new PerftHashTable(this.hashSize) : null;
+        final Map<String, Callable<Long>> rootMoves = depth > 0 ?
+                this.generator.rootMoves(fen, depth, hashTable) : new LinkedHashMap<>();
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        if (this.threads > 1) {
+            //each root move is an independent subtree, so they are counted side by side
+            final ForkJoinPool pool = new ForkJoinPool(this.threads);
+            try {
+                final Map<String, ForkJoinTask<Long>> tasks = new LinkedHashMap<>();
+                for (final Map.Entry<String, Callable<Long>> rootMove : rootMoves.entrySet()) {
+                    tasks.put(rootMove.getKey(), pool.submit(rootMove.getValue()));
+                }
+                for (final Map.Entry<String, ForkJoinTask<Long>> task : tasks.entrySet()) {
+                    divide.put(task.getKey(), task.getValue().join());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            for (final Map.Entry<String, Callable<Long>> rootMove : rootMoves.entrySet()) {
+                divide.put(rootMove.getKey(), call(rootMove.getValue()));
+            }
+        }
+        long nodes = depth > 0 ? 0 : 1;
+        for (final long count : divide.values()) {
+            nodes += count;
+        }
+        return new PerftResult(divide, nodes, System.currentTimeMillis() - startTime);
+    }
+
+    private static long call(final Callable<Long> rootMove) {
+        try {
+            return rootMove.call();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //usage: Perft "<fen>" <depth> [-threads n] [-hash megabytes] [-generator board|bitboard]
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: Perft \"<fen>\" <depth> [-threads n] [-hash megabytes] [-generator board|bitboard]");
+            return;
+        }
+        final Builder builder = new Builder();
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-threads":
+                    builder.setThreads(Integer.parseInt(args[i + 1]));
+                    break;
+                case "-hash":
+                    builder.setHashSize(Integer.parseInt(args[i + 1]));
+                    break;
+                case "-generator":
+                    builder.setGenerator(Generator.valueOf(args[i + 1].toUpperCase()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        System.out.println(builder.build().run(args[0], Integer.parseInt(args[1])));
+    }
+
+    public enum Generator {
+        //the Board/Move/Player path the GUI plays with
+        BOARD {
+            @Override
+            Map<String, Callable<Long>> rootMoves(final String fen, final int depth, final PerftHashTable hashTable) {
+                final Board board = FenUtilities.createGameFromFEN(fen);
+                final Map<String, Callable<Long>> rootMoves = new LinkedHashMap<>();
+                for (final Move move : board.currentPlayer().getLegalMoves()) {
+                    final MoveTransition transition = board.currentPlayer().makeMove(move);
+                    if (transition.getMoveStatus().isDone()) {
+                        rootMoves.put(MoveEncoding.toString(MoveEncoding.fromMove(move)),
+                                      () -> perft(transition.getTransitionBoard(), depth - 1, hashTable));
+                    }
+                }
+                return rootMoves;
+            }
+
+            private long perft(final Board board, final int depth, final PerftHashTable hashTable) {
+                if (depth == 0) {
+                    return 1;
+                }
+                if (hashTable != null) {
+                    final long count = hashTable.probe(board.zobristKey(), depth);
+                    if (count >= 0) {
+                        return count;
+                    }
+                }
+                long nodes = 0;
+                for (final Move move : board.currentPlayer().getLegalMoves()) {
+                    final MoveTransition transition = board.currentPlayer().makeMove(move);
+                    if (transition.getMoveStatus().isDone()) {
+                        nodes += perft(transition.getTransitionBoard(), depth - 1, hashTable);
+                    }
+                }
+                if (hashTable != null) {
+                    hashTable.store(board.zobristKey(), depth, nodes);
+                }
+                return nodes;
+            }
+        },
+        //MoveGenerator on a BitBoard with make/unmake, the path the search uses
+        BITBOARD {
+            @Override
+            Map<String, Callable<Long>> rootMoves(final String fen, final int depth, final PerftHashTable hashTable) {
+                final BitBoard position = FenUtilities.createBitBoardFromFEN(fen);
+                final Map<String, Callable<Long>> rootMoves = new LinkedHashMap<>();
+                for (final int move : MoveGenerator.generateLegalMoves(position)) {
+                    rootMoves.put(MoveEncoding.toString(move), () -> {
+                        //every root move gets its own copy and move lists so threads share nothing but the hash table
+                        final BitBoard rootPosition = new BitBoard(position);
+                        rootPosition.makeMove(move);
+                        return perft(rootPosition, depth - 1, createMoveLists(depth), hashTable);
+                    });
+                }
+                return rootMoves;
+            }
+
+            private long perft(final BitBoard position, final int depth, final MoveList[] moveLists,
+                               final PerftHashTable hashTable) {
+                if (depth == 0) {
+                    return 1;
+                }
+                final MoveList moves = moveLists[depth];
+                MoveGenerator.generateLegalMoves(position, moves);
+                //the generator is strictly legal, so the last ply is just the length of the list
+                if (depth == 1) {
+                    return moves.size();
+                }
+                if (hashTable != null) {
+                    final long count = hashTable.probe(position.zobristKey(), depth);
+                    if (count >= 0) {
+                        return count;
+                    }
+                }
+                long nodes = 0;
+                for (int i = 0; i < moves.size(); i++) {
+                    position.makeMove(moves.get(i));
+                    nodes += perft(position, depth - 1, moveLists, hashTable);
+                    position.unmakeMove();
+                }
+                if (hashTable != null) {
+                    hashTable.store(position.zobristKey(), depth, nodes);
+                }
+                return nodes;
+            }
+
+            private MoveList[] createMoveLists(final int depth) {
+                final MoveList[] moveLists = new MoveList[depth + 1];
+                for (int i = 0; i < moveLists.length; i++) {
+                    moveLists[i] = new MoveList();
+                }
+                return moveLists;
+            }
+        };
+
+        abstract Map<String, Callable<Long>> rootMoves(String fen, int depth, PerftHashTable hashTable);
+    }
+
+    public static class Builder {
+        private Generator generator = Generator.BITBOARD;
+        private int threads = 1;
+        private int hashSize = 0;
+
+        public Builder setGenerator(final Generator generator) {
+            this.generator = generator;
+            return this;
+        }
+
+        public Builder setThreads(final int threads) {
+            this.threads = Math.max(1, threads);
+            return this;
+        }
+
+        //hash table size in megabytes, 0 turns it off
+        public Builder setHashSize(final int hashSize) {
+            this.hashSize = Math.max(0, hashSize);
+            return this;
+        }
+
+        public Perft build() {
+            return new Perft(this);
+        }
+    }
+}
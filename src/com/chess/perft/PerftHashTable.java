@@ -0,0 +1,34 @@
+package com.chess.perft;
+
+//subtree node counts keyed by zobrist key and remaining depth, shared by the root threads without locks
+final class PerftHashTable {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long DEPTH_KEY = 0x9E3779B97F4A7C15L;
+
+    private final long[] keys;
+    private final long[] nodes;
+    private final int mask;
+
+    PerftHashTable(final int megabytes) {
+        final int entries = Integer.highestOneBit(Math.max(1, (int) Math.min(Integer.MAX_VALUE, megabytes * 1024L * 1024L / ENTRY_BYTES)));
+        this.keys = new long[entries];
+        this.nodes = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    //the key is stored xored with the count, a slot torn by two writers no longer matches and reads as a miss
+    long probe(final long zobristKey, final int depth) {
+        final long key = zobristKey ^ (depth * DEPTH_KEY);
+        final int index = (int) key & this.mask;
+        final long count = this.nodes[index];
+        return (this.keys[index] ^ count) == key && count != 0 ? count : -1;
+    }
+
+    void store(final long zobristKey, final int depth, final long count) {
+        final long key = zobristKey ^ (depth * DEPTH_KEY);
+        final int index = (int) key & this.mask;
+        this.keys[index] = key ^ count;
+        this.nodes[index] = count;
+    }
+}
@@ -0,0 +1,46 @@
+package com.chess.perft;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+public final class PerftResult {
+
+    private final Map<String, Long> divide;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    PerftResult(final Map<String, Long> divide, final long nodes, final long elapsedMillis) {
+        this.divide = ImmutableSortedMap.copyOf(divide);
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    //leaf count below each root move, keyed by the move in from-to notation
+    public Map<String, Long> getDivide() {
+        return this.divide;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, Long> entry : this.divide.entrySet()) {
+            builder.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        return builder.append("\nNodes: ").append(this.nodes)
+                      .append("\nTime: ").append(this.elapsedMillis).append("ms")
+                      .append("\nNodes/sec: ").append(getNodesPerSecond()).toString();
+    }
+}
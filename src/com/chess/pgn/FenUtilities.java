@@ -1,6 +1,7 @@
 package com.chess.pgn;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Board.Builder;
@@ -8,6 +9,7 @@ import com.chess.engine.pieces.Bishop;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Knight;
 import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.pieces.Queen;
 import com.chess.engine.pieces.Rook;
 
@@ -28,6 +30,19 @@ public class FenUtilities {
                 "0 1";
     }
 
+    public static BitBoard createBitBoardFromFEN(final String fenString){
+        return ParseBitBoardFEN(fenString);
+    }
+
+    public static String createFENFromBitBoard(final BitBoard bitBoard){
+        return calculateBoardText(bitBoard) + " " +
+                (bitBoard.getSideToMove().isWhite() ? "w" : "b") + " " +
+                calculateCastleText(bitBoard.getCastlingRights()) + " "+
+                (bitBoard.getEnPassantSquare() == BitBoard.NO_SQUARE ? "-" :
+                        BoardUtils.getPositionAtCoordinate(bitBoard.getEnPassantSquare())) + " "+
+                "0 1";
+    }
+
     private static String calculateCurrentPlayerText(final Board board){
         return board.currentPlayer().toString().substring(0,1).toLowerCase();
     }
@@ -116,6 +131,69 @@ public class FenUtilities {
         return builder.build();
     }
 
+    private static BitBoard ParseBitBoardFEN(final String fenString){
+        final String[] fenPartitions = fenString.trim().split(" ");
+        final BitBoard.Builder builder = new BitBoard.Builder();
+        final String gameConfiguration = fenPartitions[0];
+        final char[] boardTiles = expandBoardText(gameConfiguration);
+        if(boardTiles.length != BoardUtils.NUM_TILES){
+            throw new RuntimeException("Invalid FEN String " +gameConfiguration);
+        }
+        for(int i=0;i<boardTiles.length;i++){
+            final char tile = boardTiles[i];
+            if(tile == '-'){
+                continue;
+            }
+            final Alliance alliance = Character.isUpperCase(tile) ? Alliance.WHITE : Alliance.BLACK;
+            builder.setPiece(alliance, pieceType(tile, gameConfiguration), i);
+        }
+        builder.setMoveMaker(moveMaker(fenPartitions[1]));
+        int castlingRights = 0;
+        if(fenPartitions.length > 2){
+            castlingRights |= whiteKingSideCastle(fenPartitions[2]) ? BitBoard.WHITE_KING_SIDE_CASTLE : 0;
+            castlingRights |= whiteQueenSideCastle(fenPartitions[2]) ? BitBoard.WHITE_QUEEN_SIDE_CASTLE : 0;
+            castlingRights |= blackKingSideCastle(fenPartitions[2]) ? BitBoard.BLACK_KING_SIDE_CASTLE : 0;
+            castlingRights |= blackQueenSideCastle(fenPartitions[2]) ? BitBoard.BLACK_QUEEN_SIDE_CASTLE : 0;
+        }
+        builder.setCastlingRights(castlingRights);
+        if(fenPartitions.length > 3 && !fenPartitions[3].equals("-")){
+            builder.setEnPassantSquare(BoardUtils.POSITION_TO_COORDINATE.get(fenPartitions[3]));
+        }
+        return builder.build();
+    }
+
+    private static char[] expandBoardText(final String gameConfiguration){
+        return gameConfiguration.replaceAll("/", "")
+                .replaceAll("8", "--------")
+                .replaceAll("7", "-------")
+                .replaceAll("6", "------")
+                .replaceAll("5", "-----")
+                .replaceAll("4", "----")
+                .replaceAll("3", "---")
+                .replaceAll("2", "--")
+                .replaceAll("1", "-")
+                .toCharArray();
+    }
+
+    private static PieceType pieceType(final char tile, final String gameConfiguration){
+        switch (Character.toLowerCase(tile)) {
+            case 'p':
+                return PieceType.PAWN;
+            case 'n':
+                return PieceType.KNIGHT;
+            case 'b':
+                return PieceType.BISHOP;
+            case 'r':
+                return PieceType.ROOK;
+            case 'q':
+                return PieceType.QUEEN;
+            case 'k':
+                return PieceType.KING;
+            default:
+                throw new RuntimeException("Invalid FEN String " +gameConfiguration);
+        }
+    }
+
     private static Alliance moveMaker(final String moveMakerString) {
         if(moveMakerString.equals("w")) {
             return Alliance.WHITE;
@@ -160,6 +238,44 @@ public class FenUtilities {
                                 .replaceAll("--", "2").replaceAll("-", "1");
     }
 
+    private static String calculateBoardText(final BitBoard bitBoard){
+        final StringBuilder builder = new StringBuilder();
+        for(int i=0;i<BoardUtils.NUM_TILES;i++){
+            if(i > 0 && i % BoardUtils.NUM_TILES_PER_ROW == 0){
+                builder.append("/");
+            }
+            if(!bitBoard.isOccupied(i)){
+                builder.append("-");
+            } else {
+                final String pieceText = bitBoard.pieceTypeAt(i).toString();
+                builder.append(bitBoard.allianceAt(i).isWhite() ? pieceText.toUpperCase() : pieceText);
+            }
+        }
+        return builder.toString().replaceAll("--------", "8").replaceAll("-------", "7")
+                                .replaceAll("------","6").replaceAll("-----","5")
+                                .replaceAll("----", "4").replaceAll("---", "3")
+                                .replaceAll("--", "2").replaceAll("-", "1");
+    }
+
+    private static String calculateCastleText(final int castlingRights){
+        final StringBuilder builder = new StringBuilder();
+        if((castlingRights & BitBoard.WHITE_KING_SIDE_CASTLE) != 0){
+            builder.append("K");
+        }
+        if((castlingRights & BitBoard.WHITE_QUEEN_SIDE_CASTLE) != 0){
+            builder.append("Q");
+        }
+        if((castlingRights & BitBoard.BLACK_KING_SIDE_CASTLE) != 0){
+            builder.append("k");
+        }
+        if((castlingRights & BitBoard.BLACK_QUEEN_SIDE_CASTLE) != 0){
+            builder.append("q");
+        }
+        final String result = builder.toString();
+
+        return result.isEmpty() ? "-": result;
+    }
+
     private static String calculateCastleText(final Board board){
         final StringBuilder builder = new StringBuilder();
         if(board.whitePlayer().isKingSideCastleCapable()){